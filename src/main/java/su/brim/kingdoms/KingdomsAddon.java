@@ -6,21 +6,41 @@ import su.brim.kingdoms.config.ConfigManager;
 import su.brim.kingdoms.config.MessagesConfig;
 import su.brim.kingdoms.ghost.GhostManager;
 import su.brim.kingdoms.ghost.ImmortalityManager;
+import su.brim.kingdoms.ghost.ResurrectionPrewarmer;
 import su.brim.kingdoms.ghost.altar.AltarManager;
 import su.brim.kingdoms.ghost.gui.ResurrectionGUI;
 import su.brim.kingdoms.ghost.listener.AltarInteractionListener;
+import su.brim.kingdoms.ghost.listener.GhostGameEventListener;
+import su.brim.kingdoms.ghost.listener.GhostListenerLifecycle;
 import su.brim.kingdoms.ghost.listener.GhostInteractionListener;
 import su.brim.kingdoms.ghost.listener.GhostVisibilityListener;
 import su.brim.kingdoms.ghost.listener.ImmortalityListener;
+import su.brim.kingdoms.join.JoinPipeline;
+import su.brim.kingdoms.join.JoinPreload;
+import su.brim.kingdoms.join.PreloadCache;
 import su.brim.kingdoms.listeners.*;
+import su.brim.kingdoms.log.EventLog;
+import su.brim.kingdoms.manager.AdminCache;
+import su.brim.kingdoms.manager.AdmissionFilter;
+import su.brim.kingdoms.manager.ChunkWarmingService;
 import su.brim.kingdoms.manager.KingdomManager;
 import su.brim.kingdoms.manager.SpawnManager;
+import su.brim.kingdoms.manager.SpawnTeleportQueue;
 import su.brim.kingdoms.manager.PlayerDataManager;
+import su.brim.kingdoms.metrics.KingdomsMetrics;
+import su.brim.kingdoms.metrics.ListenerProfiler;
 import su.brim.kingdoms.team.TeamColorManager;
 import su.brim.kingdoms.placeholder.KingdomsPlaceholderExpansion;
+import su.brim.kingdoms.placeholder.PlaceholderCache;
+import su.brim.kingdoms.util.DataFileLoader;
+import su.brim.kingdoms.util.DebugCategory;
 import org.bukkit.Bukkit;
 import org.bukkit.plugin.java.JavaPlugin;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+
 /**
  * Main plugin class for KingdomsAddon.
  * Standalone kingdoms management with Folia support.
@@ -31,14 +51,28 @@ public class KingdomsAddon extends JavaPlugin {
     
     private ConfigManager configManager;
     private MessagesConfig messagesConfig;
+    private EventLog eventLog;
+    private DataFileLoader dataFileLoader;
+    private JoinPipeline joinPipeline;
+    private PreloadCache preloadCache;
     private KingdomManager kingdomManager;
+    private AdmissionFilter admissionFilter;
     private SpawnManager spawnManager;
+    private SpawnTeleportQueue spawnTeleportQueue;
+    private ChunkWarmingService chunkWarmingService;
     private PlayerDataManager playerDataManager;
+    private AdminCache adminCache;
+    private PlaceholderCache placeholderCache;
+    private KingdomsMetrics metrics;
+    private ListenerProfiler listenerProfiler;
     
     // Ghost system
     private GhostManager ghostManager;
+    private GhostListenerLifecycle ghostListenerLifecycle;
+    private GhostGameEventListener ghostGameEventListener;
     private AltarManager altarManager;
     private ResurrectionGUI resurrectionGUI;
+    private ResurrectionPrewarmer resurrectionPrewarmer;
     private RespawnHook respawnHook;
     private ImmortalityManager immortalityManager;
     
@@ -54,13 +88,33 @@ public class KingdomsAddon extends JavaPlugin {
         
         // Initialize configuration
         saveDefaultConfig();
+        
+        // Start parsing data files in parallel while the rest is set up
+        this.dataFileLoader = new DataFileLoader(this);
+        List<String> dataFiles = new ArrayList<>(List.of(
+                "spawns.yml", "playerdata.yml", "player-kingdoms.yml", "altars.yml", "immortality.yml"));
+        for (String kingdom : KingdomManager.ALL_KINGDOMS) {
+            dataFiles.add("teams/" + kingdom + ".yml");
+        }
+        dataFileLoader.preload(dataFiles);
         this.configManager = new ConfigManager(this);
+        this.metrics = new KingdomsMetrics(this);
+        this.listenerProfiler = new ListenerProfiler(this);
         this.messagesConfig = new MessagesConfig(this);
+        this.eventLog = new EventLog(this);
         
         // Initialize managers
+        this.adminCache = new AdminCache(this);
+        this.placeholderCache = new PlaceholderCache(this);
+        this.joinPipeline = new JoinPipeline(this);
+        this.preloadCache = new PreloadCache(this);
         this.spawnManager = new SpawnManager(this);
+        this.spawnTeleportQueue = new SpawnTeleportQueue(this);
+        this.chunkWarmingService = new ChunkWarmingService(this);
         this.playerDataManager = new PlayerDataManager(this);
         this.kingdomManager = new KingdomManager(this);
+        this.admissionFilter = new AdmissionFilter(this);
+        admissionFilter.rebuild();
         
         // Initialize ghost system if enabled
         if (getConfig().getBoolean("ghost-system.enabled", false)) {
@@ -72,11 +126,19 @@ public class KingdomsAddon extends JavaPlugin {
             initializeTeamColors();
         }
         
+        // Pin spawn and altar chunks (after altars are loaded)
+        chunkWarmingService.refreshAll();
+        
+        // All data files are parsed by now
+        dataFileLoader.finishStartup();
+        
         // Initialize API
         this.api = new KingdomsAPI(this);
         
         // Register listeners
         registerListeners();
+        adminCache.start();
+        metrics.load();
         
         // Register commands
         registerCommands();
@@ -111,6 +173,14 @@ public class KingdomsAddon extends JavaPlugin {
             teamColorManager.cleanup();
         }
         
+        if (adminCache != null) {
+            adminCache.clear();
+        }
+        
+        if (metrics != null) {
+            metrics.stop();
+        }
+        
         // Clear API instance
         KingdomsAPI.clearInstance();
         
@@ -127,25 +197,40 @@ public class KingdomsAddon extends JavaPlugin {
         getLogger().info("Initializing ghost system...");
         
         this.altarManager = new AltarManager(this);
+        this.resurrectionPrewarmer = new ResurrectionPrewarmer(this);
+        this.ghostListenerLifecycle = new GhostListenerLifecycle(this);
+        this.ghostGameEventListener = new GhostGameEventListener(this);
         this.ghostManager = new GhostManager(this);
         this.resurrectionGUI = new ResurrectionGUI(this);
         
         // Initialize immortality system if enabled
         if (getConfig().getBoolean("ghost-system.immortality.enabled", true)) {
             this.immortalityManager = new ImmortalityManager(this);
-            Bukkit.getPluginManager().registerEvents(new ImmortalityListener(this), this);
+            listenerProfiler.register(new ImmortalityListener(this));
+            joinPipeline.register("immortality", JoinPipeline.ORDER_IMMORTALITY, (player, context) -> {
+                JoinPreload preload = context.getPreload();
+                if (preload == null || preload.immortalityRemainingMs() > 0) {
+                    immortalityManager.handlePlayerJoin(player);
+                }
+            });
             getLogger().info("Immortality system initialized!");
         }
         
         // Register ghost system listeners (death handling is in RespawnHook)
-        Bukkit.getPluginManager().registerEvents(new GhostInteractionListener(this), this);
-        Bukkit.getPluginManager().registerEvents(new AltarInteractionListener(this), this);
-        Bukkit.getPluginManager().registerEvents(new GhostVisibilityListener(this), this);
+        // Ghost-only handlers are registered while ghosts are online (e.g. after a reload with players online)
+        ghostListenerLifecycle.add(new GhostInteractionListener(this));
+        ghostListenerLifecycle.add(ghostGameEventListener);
+        ghostListenerLifecycle.refresh();
+        // Altars and the resurrection GUI are used by living players too
+        listenerProfiler.register(new AltarInteractionListener(this));
+        GhostVisibilityListener visibilityListener = new GhostVisibilityListener(this);
+        listenerProfiler.register(visibilityListener);
+        joinPipeline.register("ghost", JoinPipeline.ORDER_GHOST, visibilityListener::processJoin);
         
         // Register GSit integration if available
         if (Bukkit.getPluginManager().getPlugin("GSit") != null) {
             try {
-                Bukkit.getPluginManager().registerEvents(new su.brim.kingdoms.ghost.listener.GSitListener(this), this);
+                listenerProfiler.register(new su.brim.kingdoms.ghost.listener.GSitListener(this));
                 getLogger().info("GSit detected! Registered ghost protection for player sitting.");
             } catch (NoClassDefFoundError e) {
                 getLogger().warning("GSit found but API classes not available. GSit integration disabled.");
@@ -162,6 +247,8 @@ public class KingdomsAddon extends JavaPlugin {
         getLogger().info("Initializing team colors...");
         
         this.teamColorManager = new TeamColorManager(this);
+        joinPipeline.register("team-color", JoinPipeline.ORDER_TEAM_COLOR,
+                (player, context) -> teamColorManager.updatePlayer(player));
         
         // Register PlaceholderAPI expansion if available
         if (Bukkit.getPluginManager().getPlugin("PlaceholderAPI") != null) {
@@ -181,19 +268,21 @@ public class KingdomsAddon extends JavaPlugin {
      */
     private void registerListeners() {
         // Always register damage listener
-        Bukkit.getPluginManager().registerEvents(new DamageListener(this), this);
+        listenerProfiler.register(new DamageListener(this));
         getLogger().info("Registered DamageListener");
         
         // Always register respawn listener
         PlayerRespawnListener respawnListener = new PlayerRespawnListener(this);
-        Bukkit.getPluginManager().registerEvents(respawnListener, this);
+        listenerProfiler.register(respawnListener);
         getLogger().info("Registered PlayerRespawnListener");
 
         this.respawnHook = new RespawnHook(this);
-        Bukkit.getPluginManager().registerEvents(respawnHook, this);
+        listenerProfiler.register(respawnHook);
 
         // Register join listener
-        Bukkit.getPluginManager().registerEvents(new PlayerJoinListener(this), this);
+        PlayerJoinListener joinListener = new PlayerJoinListener(this);
+        listenerProfiler.register(joinListener);
+        joinPipeline.register("kingdom", JoinPipeline.ORDER_KINGDOM, joinListener::processPlayer);
         getLogger().info("Registered PlayerJoinListener");
     }
     
@@ -213,13 +302,22 @@ public class KingdomsAddon extends JavaPlugin {
         reloadConfig();
         configManager.reload();
         messagesConfig.reload();
+        eventLog.load();
+        spawnTeleportQueue.load();
+        chunkWarmingService.load();
         playerDataManager.reload();
         kingdomManager.reload();
+        admissionFilter.load();
+        admissionFilter.rebuild();
         
         if (ghostManager != null) {
             ghostManager.reload();
         }
         
+        if (resurrectionPrewarmer != null) {
+            resurrectionPrewarmer.load();
+        }
+        
         if (immortalityManager != null) {
             immortalityManager.reload();
         }
@@ -227,6 +325,11 @@ public class KingdomsAddon extends JavaPlugin {
         if (teamColorManager != null) {
             teamColorManager.reload();
         }
+        
+        // Kingdom names and colors may have changed
+        placeholderCache.invalidateAll();
+        metrics.load();
+        chunkWarmingService.refreshAll();
     }
     
     // === Getters ===
@@ -243,6 +346,26 @@ public class KingdomsAddon extends JavaPlugin {
         return messagesConfig;
     }
     
+    public JoinPipeline getJoinPipeline() {
+        return joinPipeline;
+    }
+    
+    public EventLog getEventLog() {
+        return eventLog;
+    }
+    
+    public PreloadCache getPreloadCache() {
+        return preloadCache;
+    }
+    
+    public AdmissionFilter getAdmissionFilter() {
+        return admissionFilter;
+    }
+    
+    public DataFileLoader getDataFileLoader() {
+        return dataFileLoader;
+    }
+    
     public KingdomManager getKingdomManager() {
         return kingdomManager;
     }
@@ -251,14 +374,46 @@ public class KingdomsAddon extends JavaPlugin {
         return spawnManager;
     }
     
+    public SpawnTeleportQueue getSpawnTeleportQueue() {
+        return spawnTeleportQueue;
+    }
+    
+    public ChunkWarmingService getChunkWarmingService() {
+        return chunkWarmingService;
+    }
+    
     public PlayerDataManager getPlayerDataManager() {
         return playerDataManager;
     }
     
+    public AdminCache getAdminCache() {
+        return adminCache;
+    }
+    
+    public PlaceholderCache getPlaceholderCache() {
+        return placeholderCache;
+    }
+    
+    public KingdomsMetrics getMetrics() {
+        return metrics;
+    }
+    
+    public ListenerProfiler getListenerProfiler() {
+        return listenerProfiler;
+    }
+    
     public GhostManager getGhostManager() {
         return ghostManager;
     }
     
+    public GhostListenerLifecycle getGhostListenerLifecycle() {
+        return ghostListenerLifecycle;
+    }
+    
+    public GhostGameEventListener getGhostGameEventListener() {
+        return ghostGameEventListener;
+    }
+    
     public AltarManager getAltarManager() {
         return altarManager;
     }
@@ -267,6 +422,10 @@ public class KingdomsAddon extends JavaPlugin {
         return resurrectionGUI;
     }
     
+    public ResurrectionPrewarmer getResurrectionPrewarmer() {
+        return resurrectionPrewarmer;
+    }
+    
     public RespawnHook getRespawnHook() {
         return respawnHook;
     }
@@ -284,11 +443,38 @@ public class KingdomsAddon extends JavaPlugin {
     }
     
     /**
-     * Logs a debug message if debug mode is enabled.
+     * Checks if debug logging is enabled for a subsystem.
+     * Hot paths should check this before building debug messages.
+     */
+    public boolean isDebugEnabled(DebugCategory category) {
+        return configManager != null && configManager.isDebug(category);
+    }
+    
+    /**
+     * Logs a general debug message if debug mode is enabled.
      */
     public void debug(String message) {
-        if (configManager != null && configManager.isDebug()) {
-            getLogger().info("[DEBUG] " + message);
+        debug(DebugCategory.GENERAL, message);
+    }
+    
+    /**
+     * Logs a debug message if debugging of the subsystem is enabled.
+     * Use for constant messages; dynamic ones should use the supplier variant.
+     */
+    public void debug(DebugCategory category, String message) {
+        if (isDebugEnabled(category)) {
+            getLogger().info("[DEBUG/" + category.name() + "] " + message);
+        }
+    }
+    
+    /**
+     * Logs a debug message if debugging of the subsystem is enabled.
+     * The message is only built when the subsystem is enabled, so call sites
+     * pay no concatenation/formatting cost while debug is off.
+     */
+    public void debug(DebugCategory category, Supplier<String> message) {
+        if (isDebugEnabled(category)) {
+            getLogger().info("[DEBUG/" + category.name() + "] " + message.get());
         }
     }
 }
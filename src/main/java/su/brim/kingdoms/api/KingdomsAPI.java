@@ -221,11 +221,14 @@ public class KingdomsAPI {
      * - Do not become ghosts on death
      * - Are not affected by team damage modifiers
      * 
+     * The status is cached and refreshed on join, on permission recalculation
+     * and every 30 seconds.
+     * 
      * @param player The player to check
      * @return true if player has admin bypass
      */
     public boolean isAdmin(@NotNull Player player) {
-        return player.hasPermission(ADMIN_PERMISSION);
+        return plugin.getAdminCache().isAdmin(player);
     }
     
     /**
@@ -236,11 +239,7 @@ public class KingdomsAPI {
      * @return true if player is online and has admin bypass
      */
     public boolean isAdmin(@NotNull UUID playerUuid) {
-        Player player = Bukkit.getPlayer(playerUuid);
-        if (player == null) {
-            return false;
-        }
-        return isAdmin(player);
+        return plugin.getAdminCache().isAdmin(playerUuid);
     }
     
     // ==================== Team Colors ====================
@@ -2,8 +2,21 @@ package su.brim.kingdoms.commands;
 
 import su.brim.kingdoms.KingdomsAddon;
 import su.brim.kingdoms.config.MessagesConfig;
+import su.brim.kingdoms.ghost.GhostManager;
+import su.brim.kingdoms.ghost.ResurrectionPrewarmer;
+import su.brim.kingdoms.ghost.listener.GhostGameEventListener;
+import su.brim.kingdoms.ghost.listener.GhostListenerLifecycle;
+import su.brim.kingdoms.join.PreloadCache;
+import su.brim.kingdoms.log.EventLog;
+import su.brim.kingdoms.manager.AdmissionFilter;
+import su.brim.kingdoms.manager.ChunkWarmingService;
 import su.brim.kingdoms.manager.KingdomManager;
 import su.brim.kingdoms.manager.SpawnManager;
+import su.brim.kingdoms.manager.SpawnTeleportQueue;
+import su.brim.kingdoms.metrics.KingdomsMetrics;
+import su.brim.kingdoms.metrics.ListenerProfiler;
+import su.brim.kingdoms.placeholder.PlaceholderCache;
+import su.brim.kingdoms.team.TeamColorManager;
 import su.brim.kingdoms.util.FoliaUtil;
 import org.bukkit.Bukkit;
 import org.bukkit.Location;
@@ -15,9 +28,12 @@ import org.bukkit.entity.Player;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
+import java.text.SimpleDateFormat;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Date;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 /**
@@ -28,7 +44,7 @@ public class KingdomsCommand implements CommandExecutor, TabCompleter {
     private final KingdomsAddon plugin;
     
     private static final List<String> SUBCOMMANDS = Arrays.asList(
-            "setspawn", "reload", "info", "assign", "list", "help", "altar", "resurrect", "spawn", "debug", "tpghost"
+            "setspawn", "reload", "info", "assign", "list", "help", "altar", "resurrect", "spawn", "debug", "tpghost", "log", "stats", "metrics", "profile"
     );
     
     public KingdomsCommand(KingdomsAddon plugin) {
@@ -57,6 +73,10 @@ public class KingdomsCommand implements CommandExecutor, TabCompleter {
             case "spawn" -> handleSpawn(sender, args);
             case "debug" -> handleDebug(sender);
             case "tpghost" -> handleTpGhost(sender, args);
+            case "log" -> handleLog(sender, args);
+            case "stats" -> handleStats(sender);
+            case "metrics" -> handleMetrics(sender, args);
+            case "profile" -> handleProfile(sender, args);
             default -> {
                 sender.sendMessage(plugin.getMessagesConfig().getComponentWithPrefix("commands.unknown"));
                 yield true;
@@ -313,6 +333,13 @@ public class KingdomsCommand implements CommandExecutor, TabCompleter {
             }
         }
         
+        if (sender.hasPermission("kingdoms.admin")) {
+            sender.sendMessage(plugin.getMessagesConfig().getComponent("commands.help.log"));
+            sender.sendMessage(plugin.getMessagesConfig().getComponent("commands.help.stats"));
+            sender.sendMessage(plugin.getMessagesConfig().getComponent("commands.help.metrics"));
+            sender.sendMessage(plugin.getMessagesConfig().getComponent("commands.help.profile"));
+        }
+        
         return true;
     }
     
@@ -937,6 +964,267 @@ public class KingdomsCommand implements CommandExecutor, TabCompleter {
         return true;
     }
     
+    /**
+     * Handles /kingdoms log [count] [type] - dumps recent entries of the event log
+     */
+    private boolean handleLog(CommandSender sender, String[] args) {
+        if (!sender.hasPermission("kingdoms.admin")) {
+            sender.sendMessage(plugin.getMessagesConfig().getComponentWithPrefix("plugin.no-permission"));
+            return true;
+        }
+        
+        int count = 20;
+        EventLog.Type type = null;
+        for (int i = 1; i < args.length; i++) {
+            String arg = args[i];
+            try {
+                count = Math.max(1, Math.min(200, Integer.parseInt(arg)));
+                continue;
+            } catch (NumberFormatException ignored) {
+                // Not a number, try as type
+            }
+            try {
+                type = EventLog.Type.valueOf(arg.toUpperCase());
+            } catch (IllegalArgumentException e) {
+                sender.sendMessage("§cUnknown event type: " + arg + " §7(respawn, ghost, damage)");
+                return true;
+            }
+        }
+        
+        EventLog eventLog = plugin.getEventLog();
+        List<EventLog.Entry> entries = eventLog.getRecent(count, type);
+        
+        sender.sendMessage("§6=== KingdomsAddon Event Log §7(" + entries.size() + " / " + 
+                eventLog.getRecordedCount() + " recorded, buffer " + eventLog.getCapacity() + ") §6===");
+        if (entries.isEmpty()) {
+            sender.sendMessage("  §7No events recorded");
+            return true;
+        }
+        
+        // Oldest first, so the newest entry is at the bottom of the chat
+        SimpleDateFormat timeFormat = new SimpleDateFormat("HH:mm:ss");
+        for (int i = entries.size() - 1; i >= 0; i--) {
+            EventLog.Entry entry = entries.get(i);
+            sender.sendMessage("  §7" + timeFormat.format(new Date(entry.getTime())) + " §f" + entry.format());
+        }
+        
+        return true;
+    }
+    
+    /**
+     * Handles /kingdoms metrics [prefix] - shows the current metric values
+     * (histogram buckets are only available through the HTTP endpoint)
+     */
+    private boolean handleMetrics(CommandSender sender, String[] args) {
+        if (!sender.hasPermission("kingdoms.admin")) {
+            sender.sendMessage(plugin.getMessagesConfig().getComponentWithPrefix("plugin.no-permission"));
+            return true;
+        }
+        
+        String filter = args.length > 1 ? args[1].toLowerCase() : null;
+        KingdomsMetrics metrics = plugin.getMetrics();
+        
+        sender.sendMessage("§6=== KingdomsAddon Metrics ===");
+        sender.sendMessage("§eHTTP endpoint: " + (metrics.isHttpRunning() ? "§aenabled" : "§cdisabled"));
+        
+        for (String line : metrics.scrape().split("\n")) {
+            if (line.isEmpty() || line.startsWith("#") || line.contains("_bucket{")) {
+                continue;
+            }
+            if (filter != null && !line.startsWith(filter) && !line.startsWith("kingdoms_" + filter)) {
+                continue;
+            }
+            
+            int split = line.lastIndexOf(' ');
+            sender.sendMessage("§7" + line.substring(0, split) + " §f" + line.substring(split + 1));
+        }
+        
+        return true;
+    }
+    
+    /**
+     * Handles /kingdoms profile [reset|handler] - shows event handler timings
+     * (requires profiling.enabled in config)
+     */
+    private boolean handleProfile(CommandSender sender, String[] args) {
+        if (!sender.hasPermission("kingdoms.admin")) {
+            sender.sendMessage(plugin.getMessagesConfig().getComponentWithPrefix("plugin.no-permission"));
+            return true;
+        }
+        
+        ListenerProfiler profiler = plugin.getListenerProfiler();
+        if (!profiler.isEnabled()) {
+            sender.sendMessage("§cProfiling is disabled. Set profiling.enabled: true in config.yml and restart the server.");
+            return true;
+        }
+        
+        if (args.length > 1 && args[1].equalsIgnoreCase("reset")) {
+            profiler.reset();
+            sender.sendMessage("§aProfiling data reset.");
+            return true;
+        }
+        
+        double seconds = profiler.getElapsedSeconds();
+        
+        // Single handler - breakdown per thread
+        if (args.length > 1) {
+            ListenerProfiler.HandlerStats handler = profiler.getHandler(args[1]);
+            if (handler == null) {
+                sender.sendMessage("§cUnknown handler: " + args[1]);
+                return true;
+            }
+            
+            sender.sendMessage("§6=== " + handler.getName() + " (" + String.format("%.0f", seconds) + "s) ===");
+            handler.summarizeByThread().entrySet().stream()
+                    .sorted((a, b) -> Long.compare(b.getValue().totalNanos(), a.getValue().totalNanos()))
+                    .forEach(entry -> sender.sendMessage("§f" + entry.getKey() + " " + 
+                            formatProfileSummary(entry.getValue(), seconds)));
+            return true;
+        }
+        
+        sender.sendMessage("§6=== Listener Profile (" + String.format("%.0f", seconds) + "s) ===");
+        List<ListenerProfiler.HandlerStats> handlers = profiler.getHandlers();
+        List<Map.Entry<String, ListenerProfiler.Summary>> summaries = new ArrayList<>();
+        for (ListenerProfiler.HandlerStats handler : handlers) {
+            ListenerProfiler.Summary summary = handler.summarize();
+            if (summary.calls() > 0) {
+                summaries.add(Map.entry(handler.getName(), summary));
+            }
+        }
+        
+        if (summaries.isEmpty()) {
+            sender.sendMessage("§7No handler calls recorded yet.");
+            return true;
+        }
+        
+        // Most expensive handlers first
+        summaries.sort((a, b) -> Long.compare(b.getValue().totalNanos(), a.getValue().totalNanos()));
+        for (Map.Entry<String, ListenerProfiler.Summary> entry : summaries) {
+            sender.sendMessage("§f" + entry.getKey() + " " + formatProfileSummary(entry.getValue(), seconds));
+        }
+        sender.sendMessage("§7/kingdoms profile <handler> - per thread, /kingdoms profile reset");
+        
+        return true;
+    }
+    
+    private String formatProfileSummary(ListenerProfiler.Summary summary, double seconds) {
+        return "§7calls: §f" + summary.calls() + 
+                " §7(§f" + String.format("%.1f", summary.calls() / seconds) + "/s§7)" + 
+                " p50: §f" + formatNanos(summary.p50Nanos()) + 
+                " §7p99: §f" + formatNanos(summary.p99Nanos()) + 
+                " §7total: §f~" + formatNanos(summary.totalNanos());
+    }
+    
+    private String formatNanos(long nanos) {
+        if (nanos < 1_000) {
+            return nanos + "ns";
+        }
+        if (nanos < 1_000_000) {
+            return String.format("%.1fµs", nanos / 1_000.0);
+        }
+        if (nanos < 1_000_000_000) {
+            return String.format("%.1fms", nanos / 1_000_000.0);
+        }
+        return String.format("%.2fs", nanos / 1_000_000_000.0);
+    }
+    
+    /**
+     * Handles /kingdoms stats - shows runtime statistics of the plugin's services
+     */
+    private boolean handleStats(CommandSender sender) {
+        if (!sender.hasPermission("kingdoms.admin")) {
+            sender.sendMessage(plugin.getMessagesConfig().getComponentWithPrefix("plugin.no-permission"));
+            return true;
+        }
+        
+        sender.sendMessage("§6=== KingdomsAddon Stats ===");
+        
+        // Spawn teleport admission queue
+        SpawnTeleportQueue queue = plugin.getSpawnTeleportQueue();
+        sender.sendMessage("§eSpawn teleport queue: " + (queue.isEnabled() ? "§aenabled" : "§cdisabled"));
+        sender.sendMessage("  §7Depth: §f" + queue.getQueueDepth() + " §7(max " + queue.getMaxQueueDepth() + ")");
+        sender.sendMessage("  §7Queued: §f" + queue.getEnqueuedCount() + " §7admitted: §f" + queue.getAdmittedCount() + 
+                " §7dropped: §f" + queue.getDroppedCount());
+        sender.sendMessage("  §7Wait: §favg " + queue.getAverageWaitMs() + "ms§7, §fmax " + queue.getMaxWaitMs() + "ms");
+        for (String kingdomId : KingdomManager.ALL_KINGDOMS) {
+            sender.sendMessage("  §7Spread points " + kingdomId + ": §f" + queue.getSpreadPointCount(kingdomId));
+        }
+        
+        // Pre-login whitelist gate
+        AdmissionFilter admission = plugin.getAdmissionFilter();
+        sender.sendMessage("§eAdmission gate: " + (admission.isEnabled() ? "§aenabled" : "§cdisabled") + 
+                " §7(filter " + (admission.getFilterSizeBytes() / 1024) + " KB)");
+        sender.sendMessage("  §7Checked: §f" + admission.getCheckedCount() + 
+                " §7rejected by filter: §f" + admission.getRejectedByFilterCount() + 
+                " §7by exact check: §f" + admission.getRejectedExactCount() + 
+                " §7rate: §f" + String.format("%.1f%%", admission.getRejectionRate()));
+        
+        // Join state resolved at pre-login
+        PreloadCache preloadCache = plugin.getPreloadCache();
+        sender.sendMessage("§eJoin preload: §7resolved: §f" + preloadCache.getResolvedCount() + 
+                " §7hits: §f" + preloadCache.getHitCount() + " §7misses: §f" + preloadCache.getMissCount() + 
+                " §7cached: §f" + preloadCache.getSize());
+        
+        // Placeholder values
+        PlaceholderCache placeholderCache = plugin.getPlaceholderCache();
+        long placeholderRequests = placeholderCache.getHitCount() + placeholderCache.getMissCount();
+        sender.sendMessage("§ePlaceholders: §7requests: §f" + placeholderRequests + 
+                " §7hit rate: §f" + (placeholderRequests == 0 ? "0.0" : String.format("%.1f", placeholderCache.getHitCount() * 100.0 / placeholderRequests)) + "%" + 
+                " §7cached players: §f" + placeholderCache.getSize() + 
+                " §7offline (uncached): §f" + placeholderCache.getUncachedCount());
+        
+        // TAB nametags
+        TeamColorManager teamColorManager = plugin.getTeamColorManager();
+        if (teamColorManager != null && teamColorManager.isTabPluginPresent()) {
+            sender.sendMessage("§eNametags: §7sent: §f" + teamColorManager.getSentUpdateCount() + 
+                    " §7unchanged (skipped): §f" + teamColorManager.getSkippedUpdateCount());
+        }
+        
+        // Ghost-only listeners and sculk suppression
+        GhostListenerLifecycle ghostListeners = plugin.getGhostListenerLifecycle();
+        if (ghostListeners != null) {
+            sender.sendMessage("§eGhost listeners: " + (ghostListeners.isRegistered() ? "§aregistered" : "§7idle (no ghosts online)") + 
+                    " §7handlers: §f" + ghostListeners.getListenerCount() + 
+                    " §7transitions: §f" + ghostListeners.getTransitionCount());
+        }
+        GhostGameEventListener gameEventListener = plugin.getGhostGameEventListener();
+        if (gameEventListener != null) {
+            sender.sendMessage("§eGhost game events: §7suppressed: §f" + gameEventListener.getSuppressedCount() + 
+                    " §7passed: §f" + gameEventListener.getPassedCount());
+        }
+        
+        // Chunk tickets around spawns and altars
+        ChunkWarmingService warming = plugin.getChunkWarmingService();
+        sender.sendMessage("§eChunk warming: " + (warming.isEnabled() ? "§aenabled" : "§cdisabled") + 
+                " §7(radius " + warming.getRadius() + ")");
+        sender.sendMessage("  §7Pinned points: §f" + warming.getPinnedPointCount() + 
+                " §7tickets: §f" + warming.getTicketCount());
+        sender.sendMessage("  §7Estimated memory: §f~" + (warming.getEstimatedMemoryBytes() / (1024 * 1024)) + " MB");
+        
+        // Resurrection destination pre-warming
+        ResurrectionPrewarmer prewarmer = plugin.getResurrectionPrewarmer();
+        if (prewarmer != null) {
+            sender.sendMessage("§eResurrection pre-warm: " + (prewarmer.isEnabled() ? "§aenabled" : "§cdisabled"));
+            sender.sendMessage("  §7Requests: §f" + prewarmer.getRequestCount() + 
+                    " §7hits: §f" + prewarmer.getHitCount() + " §7misses: §f" + prewarmer.getMissCount() + 
+                    " §7hit rate: §f" + String.format("%.1f%%", prewarmer.getHitRate()));
+        }
+        
+        // Ghost state memory
+        GhostManager ghostManager = plugin.getGhostManager();
+        if (ghostManager != null) {
+            int unloadedCount = ghostManager.getDataStore().getUnloadedCount();
+            int loadedCount = ghostManager.getGhostCount() - unloadedCount;
+            long ghostBytes = ghostManager.getEstimatedMemoryBytes();
+            sender.sendMessage("§eGhost states: §f" + loadedCount + " loaded §7+ §f" + unloadedCount + " §7not loaded yet");
+            sender.sendMessage("  §7Estimated memory: §f~" + (ghostBytes / 1024) + " KB" + 
+                    (loadedCount > 0 ? " §7(§f" + (ghostBytes / loadedCount) + " B§7 per ghost)" : ""));
+            sender.sendMessage("  §7Pending writes: §f" + ghostManager.getDataStore().getDirtyCount());
+        }
+        
+        return true;
+    }
+    
     @Override
     public @Nullable List<String> onTabComplete(@NotNull CommandSender sender, @NotNull Command command,
                                                 @NotNull String alias, @NotNull String[] args) {
@@ -984,6 +1272,27 @@ public class KingdomsCommand implements CommandExecutor, TabCompleter {
                                 .collect(Collectors.toList()));
                     }
                 }
+                case "log" -> {
+                    if (sender.hasPermission("kingdoms.admin")) {
+                        for (EventLog.Type type : EventLog.Type.values()) {
+                            if (type.getConfigKey().startsWith(partial)) {
+                                completions.add(type.getConfigKey());
+                            }
+                        }
+                    }
+                }
+                case "profile" -> {
+                    if (sender.hasPermission("kingdoms.admin")) {
+                        if ("reset".startsWith(partial)) {
+                            completions.add("reset");
+                        }
+                        for (ListenerProfiler.HandlerStats handler : plugin.getListenerProfiler().getHandlers()) {
+                            if (handler.getName().toLowerCase().startsWith(partial)) {
+                                completions.add(handler.getName());
+                            }
+                        }
+                    }
+                }
                 case "altar" -> {
                     // Altar subcommands
                     completions.addAll(Arrays.asList("create", "remove", "relocate", "list", "tp").stream()
@@ -0,0 +1,141 @@
+package su.brim.kingdoms.config;
+
+import su.brim.kingdoms.manager.KingdomManager;
+import net.kyori.adventure.text.Component;
+import net.kyori.adventure.text.format.NamedTextColor;
+import net.kyori.adventure.text.format.TextColor;
+import net.kyori.adventure.text.serializer.legacy.LegacyComponentSerializer;
+import org.bukkit.configuration.file.FileConfiguration;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Immutable table of kingdom names and colors in every form they are used in
+ * (hex, legacy §x codes, TextColor, Component) plus the ghost nametag prefix.
+ * Built once per config load; entries are indexed like {@link KingdomManager#ALL_KINGDOMS},
+ * so lookups are array reads.
+ */
+public final class ColorTable {
+
+    private static final String DEFAULT_HEX = "#FFFFFF";
+    private static final String DEFAULT_GHOST_PREFIX = "§7§o☠ ";
+
+    // Kingdom ID -> table index, so a lookup is one hash probe instead of a list scan
+    private static final Map<String, Integer> INDEX = buildIndex();
+
+    private final String[] displayNames;
+    private final String[] hexColors;
+    private final String[] legacyColors;
+    private final TextColor[] textColors;
+    private final Component[] displayComponents;
+
+    private final String ghostPrefix;
+    private final Component ghostPrefixComponent;
+
+    private ColorTable(FileConfiguration config) {
+        int count = KingdomManager.ALL_KINGDOMS.size();
+        displayNames = new String[count];
+        hexColors = new String[count];
+        legacyColors = new String[count];
+        textColors = new TextColor[count];
+        displayComponents = new Component[count];
+
+        for (int i = 0; i < count; i++) {
+            String kingdomId = KingdomManager.ALL_KINGDOMS.get(i);
+            String hex = config.getString("kingdoms." + kingdomId + ".color", DEFAULT_HEX);
+            TextColor color = TextColor.fromHexString(hex);
+            if (color == null) {
+                color = NamedTextColor.WHITE;
+            }
+
+            displayNames[i] = config.getString("kingdoms." + kingdomId + ".display-name", kingdomId);
+            hexColors[i] = hex;
+            textColors[i] = color;
+            legacyColors[i] = toLegacy(color);
+            displayComponents[i] = Component.text(displayNames[i], color);
+        }
+
+        ghostPrefix = config.getString("team-colors.ghost-prefix", DEFAULT_GHOST_PREFIX);
+        ghostPrefixComponent = LegacyComponentSerializer.legacySection().deserialize(ghostPrefix);
+    }
+
+    /**
+     * Builds the table from the current config.
+     */
+    public static ColorTable load(FileConfiguration config) {
+        return new ColorTable(config);
+    }
+
+    private static Map<String, Integer> buildIndex() {
+        // HashMap rather than Map.of, which rejects a null lookup
+        Map<String, Integer> index = new HashMap<>();
+        for (int i = 0; i < KingdomManager.ALL_KINGDOMS.size(); i++) {
+            index.put(KingdomManager.ALL_KINGDOMS.get(i), i);
+        }
+        return Collections.unmodifiableMap(index);
+    }
+
+    /**
+     * Gets the table index of a kingdom, or -1 for an unknown ID.
+     */
+    private static int index(String kingdomId) {
+        Integer i = INDEX.get(kingdomId);
+        return i != null ? i : -1;
+    }
+
+    public String getDisplayName(String kingdomId) {
+        int i = index(kingdomId);
+        return i >= 0 ? displayNames[i] : kingdomId;
+    }
+
+    /**
+     * Gets the configured color (#RRGGBB as written in config).
+     */
+    public String getHex(String kingdomId) {
+        int i = index(kingdomId);
+        return i >= 0 ? hexColors[i] : DEFAULT_HEX;
+    }
+
+    /**
+     * Gets the color in legacy format (§x§R§R§G§G§B§B), or "" for an unknown kingdom.
+     */
+    public String getLegacy(String kingdomId) {
+        int i = index(kingdomId);
+        return i >= 0 ? legacyColors[i] : "";
+    }
+
+    /**
+     * Gets the parsed color, or null for an unknown kingdom.
+     */
+    public TextColor getTextColor(String kingdomId) {
+        int i = index(kingdomId);
+        return i >= 0 ? textColors[i] : null;
+    }
+
+    /**
+     * Gets the display name colored in the kingdom color.
+     */
+    public Component getDisplayComponent(String kingdomId) {
+        int i = index(kingdomId);
+        return i >= 0 ? displayComponents[i] : Component.text(kingdomId);
+    }
+
+    public String getGhostPrefix() {
+        return ghostPrefix;
+    }
+
+    public Component getGhostPrefixComponent() {
+        return ghostPrefixComponent;
+    }
+
+    private static String toLegacy(TextColor color) {
+        String hex = color.asHexString();
+        StringBuilder sb = new StringBuilder("§x");
+        for (int i = 1; i < hex.length(); i++) {
+            sb.append('§').append(hex.charAt(i));
+        }
+        return sb.toString();
+    }
+}
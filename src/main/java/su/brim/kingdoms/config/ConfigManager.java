@@ -1,6 +1,7 @@
 package su.brim.kingdoms.config;
 
 import su.brim.kingdoms.KingdomsAddon;
+import su.brim.kingdoms.util.DebugCategory;
 import org.bukkit.configuration.file.FileConfiguration;
 
 /**
@@ -20,8 +21,15 @@ public class ConfigManager {
     private boolean teleportOnFirstJoin;
     private boolean teleportOnDeathNoRespawn;
     
+    // Join settings
+    private int joinDelayTicks;
+    
     // Debug
     private boolean debug;
+    private int debugMask; // Bits of enabled DebugCategory values (0 when debug is off)
+    
+    // Kingdom names and colors, rebuilt on every load
+    private volatile ColorTable colorTable;
     
     public ConfigManager(KingdomsAddon plugin) {
         this.plugin = plugin;
@@ -44,10 +52,24 @@ public class ConfigManager {
         teleportOnFirstJoin = config.getBoolean("teleport.on-first-join", true);
         teleportOnDeathNoRespawn = config.getBoolean("teleport.on-death-no-respawn", true);
         
+        // Join settings
+        joinDelayTicks = Math.max(1, config.getInt("join.delay-ticks", 10));
+        
         // Debug
         debug = config.getBoolean("debug", false);
+        int mask = 0;
+        if (debug) {
+            for (DebugCategory category : DebugCategory.values()) {
+                if (config.getBoolean("debug-subsystems." + category.getConfigKey(), true)) {
+                    mask |= category.getMask();
+                }
+            }
+        }
+        debugMask = mask;
+        
+        colorTable = ColorTable.load(config);
         
-        plugin.debug("Config loaded: allyMultiplier=" + allyDamageMultiplier + 
+        plugin.debug(DebugCategory.GENERAL, () -> "Config loaded: allyMultiplier=" + allyDamageMultiplier + 
                      ", enemyMultiplier=" + enemyDamageMultiplier);
     }
     
@@ -85,21 +107,39 @@ public class ConfigManager {
         return teleportOnDeathNoRespawn;
     }
     
+    public int getJoinDelayTicks() {
+        return joinDelayTicks;
+    }
+    
     public boolean isDebug() {
         return debug;
     }
     
+    /**
+     * Checks if debug logging is enabled for a subsystem.
+     */
+    public boolean isDebug(DebugCategory category) {
+        return (debugMask & category.getMask()) != 0;
+    }
+    
+    /**
+     * Gets the precomputed kingdom names and colors.
+     */
+    public ColorTable getColorTable() {
+        return colorTable;
+    }
+    
     /**
      * Gets the display name for a kingdom from config.
      */
     public String getKingdomDisplayName(String kingdomId) {
-        return plugin.getConfig().getString("kingdoms." + kingdomId + ".display-name", kingdomId);
+        return colorTable.getDisplayName(kingdomId);
     }
     
     /**
      * Gets the color for a kingdom from config.
      */
     public String getKingdomColor(String kingdomId) {
-        return plugin.getConfig().getString("kingdoms." + kingdomId + ".color", "#FFFFFF");
+        return colorTable.getHex(kingdomId);
     }
 }
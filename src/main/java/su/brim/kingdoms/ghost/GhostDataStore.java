@@ -0,0 +1,376 @@
+package su.brim.kingdoms.ghost;
+
+import su.brim.kingdoms.KingdomsAddon;
+import su.brim.kingdoms.util.DebugCategory;
+import su.brim.kingdoms.util.FoliaUtil;
+import org.bukkit.configuration.ConfigurationSection;
+import org.bukkit.configuration.file.YamlConfiguration;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Persists ghost states as one small YAML file per ghost in a sharded directory
+ * (ghosts/&lt;first two UUID chars&gt;/&lt;uuid&gt;.yml).
+ * On startup only the file names are indexed; a ghost's file is parsed when the ghost
+ * is first needed, and the offline history when something lists all ghosts.
+ * Changes only mark a ghost dirty; dirty ghosts are written in a single coalesced
+ * flush on the async scheduler, so saving never blocks a region thread.
+ */
+public class GhostDataStore {
+
+    // Changes within this window end up in one flush
+    private static final long FLUSH_DELAY_TICKS = 20L;
+
+    private final KingdomsAddon plugin;
+    private final File directory;
+    private final File legacyFile;
+
+    // Live ghost map of the GhostManager (a missing entry means the file is deleted)
+    private final Map<UUID, GhostState> ghosts;
+
+    // Saved ghosts not parsed yet (loaded per UUID on demand, or all at once for the history).
+    // Publishing a loaded ghost and starting the history load are guarded by this set
+    private final Set<UUID> unloaded = ConcurrentHashMap.newKeySet();
+    private CompletableFuture<Void> remainingLoad;
+
+    private final Set<UUID> dirty = ConcurrentHashMap.newKeySet();
+    private final AtomicBoolean flushScheduled = new AtomicBoolean();
+
+    public GhostDataStore(KingdomsAddon plugin, Map<UUID, GhostState> ghosts) {
+        this.plugin = plugin;
+        this.directory = new File(plugin.getDataFolder(), "ghosts");
+        this.legacyFile = new File(plugin.getDataFolder(), "ghostdata.yml");
+        this.ghosts = ghosts;
+    }
+
+    /**
+     * Indexes the saved ghosts by file name without parsing them, so isGhost knows every
+     * ghost right away. Migrates the old single-file ghostdata.yml on first start
+     * (which loads all ghosts once).
+     */
+    public void loadIndex(ResurrectionCostPool costPool, long defaultDurationMs) {
+        if (!directory.exists() && legacyFile.exists()) {
+            migrateLegacyFile(costPool, defaultDurationMs);
+            return;
+        }
+
+        File[] shards = directory.listFiles(File::isDirectory);
+        if (shards == null) {
+            return;
+        }
+
+        for (File shard : shards) {
+            File[] shardFiles = shard.listFiles((dir, name) -> name.endsWith(".yml"));
+            if (shardFiles == null) {
+                continue;
+            }
+            for (File file : shardFiles) {
+                String uuidStr = file.getName().substring(0, file.getName().length() - 4);
+                try {
+                    unloaded.add(UUID.fromString(uuidStr));
+                } catch (IllegalArgumentException e) {
+                    plugin.getLogger().warning("Ignoring ghost file with invalid UUID: " + file.getName());
+                }
+            }
+        }
+        plugin.getLogger().info("Indexed " + unloaded.size() + " saved ghosts.");
+    }
+
+    /**
+     * Checks if a ghost is saved but not loaded yet.
+     */
+    public boolean isUnloaded(UUID uuid) {
+        return unloaded.contains(uuid);
+    }
+
+    /**
+     * Gets the number of saved ghosts that are not loaded yet.
+     */
+    public int getUnloadedCount() {
+        return unloaded.size();
+    }
+
+    /**
+     * Loads a saved ghost into the live map if it isn't loaded yet. Parses one small file,
+     * safe to call from any thread.
+     *
+     * @return the ghost's live state, or null if the player is not a ghost
+     */
+    public GhostState load(UUID uuid, ResurrectionCostPool costPool, long defaultDurationMs) {
+        if (!unloaded.contains(uuid)) {
+            return ghosts.get(uuid);
+        }
+
+        GhostState parsed = null;
+        try {
+            parsed = deserialize(uuid, YamlConfiguration.loadConfiguration(getFile(uuid)), costPool, defaultDurationMs);
+        } catch (Exception e) {
+            plugin.getLogger().warning("Failed to load ghost data for " + uuid + ": " + e.getMessage());
+        }
+
+        synchronized (unloaded) {
+            // Loaded by another thread meanwhile, or forgotten
+            if (!unloaded.contains(uuid)) {
+                return ghosts.get(uuid);
+            }
+            // Published before leaving the index, so isGhost never misses the ghost
+            if (parsed != null) {
+                ghosts.put(uuid, parsed);
+            }
+            unloaded.remove(uuid);
+        }
+        return parsed;
+    }
+
+    /**
+     * Drops a ghost from the index, so its old file is never loaded over a newer state.
+     */
+    public void forget(UUID uuid) {
+        synchronized (unloaded) {
+            unloaded.remove(uuid);
+        }
+    }
+
+    /**
+     * Loads all remaining saved ghosts (the offline history) in the background, once.
+     * Files are parsed in parallel on the fork-join pool.
+     *
+     * @return future completed once every indexed ghost is in the live map
+     */
+    public CompletableFuture<Void> loadRemainingAsync(ResurrectionCostPool costPool, long defaultDurationMs) {
+        synchronized (unloaded) {
+            if (remainingLoad == null) {
+                remainingLoad = CompletableFuture.runAsync(() -> {
+                    long start = System.nanoTime();
+                    List<UUID> pending = new ArrayList<>(unloaded);
+                    // Runs inside the common pool, so the parallel stream shares its workers
+                    pending.parallelStream().forEach(uuid -> load(uuid, costPool, defaultDurationMs));
+                    long elapsedMs = (System.nanoTime() - start) / 1_000_000;
+                    plugin.getLogger().info("Loaded " + pending.size() + " offline ghost states in " + elapsedMs + "ms.");
+                }, ForkJoinPool.commonPool());
+            }
+            return remainingLoad;
+        }
+    }
+
+    /**
+     * Splits the old ghostdata.yml into per-ghost files.
+     */
+    private void migrateLegacyFile(ResurrectionCostPool costPool, long defaultDurationMs) {
+        YamlConfiguration legacy = YamlConfiguration.loadConfiguration(legacyFile);
+        ConfigurationSection ghostsSection = legacy.getConfigurationSection("ghosts");
+
+        if (ghostsSection != null) {
+            for (String uuidStr : ghostsSection.getKeys(false)) {
+                try {
+                    UUID uuid = UUID.fromString(uuidStr);
+                    ConfigurationSection section = ghostsSection.getConfigurationSection(uuidStr);
+                    if (section == null) continue;
+                    ghosts.put(uuid, deserialize(uuid, section, costPool, defaultDurationMs));
+                    dirty.add(uuid);
+                } catch (Exception e) {
+                    plugin.getLogger().warning("Failed to load ghost data for " + uuidStr + ": " + e.getMessage());
+                }
+            }
+        }
+
+        directory.mkdirs();
+        flush();
+
+        File migrated = new File(plugin.getDataFolder(), "ghostdata.yml.migrated");
+        if (!legacyFile.renameTo(migrated)) {
+            plugin.getLogger().warning("Failed to rename ghostdata.yml after migration");
+        }
+        plugin.getLogger().info("Migrated ghost states from ghostdata.yml.");
+    }
+
+    /**
+     * Marks a ghost as changed (or removed) and schedules a flush.
+     */
+    public void markDirty(UUID uuid) {
+        dirty.add(uuid);
+        if (flushScheduled.compareAndSet(false, true)) {
+            FoliaUtil.runAsyncDelayed(plugin, this::flush, FLUSH_DELAY_TICKS);
+        }
+    }
+
+    /**
+     * Writes all dirty ghosts. Runs on the async scheduler, or directly on shutdown.
+     */
+    public synchronized void flush() {
+        // Reset first, so changes made during the write schedule another flush
+        flushScheduled.set(false);
+
+        int written = 0;
+        Iterator<UUID> iterator = dirty.iterator();
+        while (iterator.hasNext()) {
+            UUID uuid = iterator.next();
+            iterator.remove();
+
+            GhostState state = ghosts.get(uuid);
+            File file = getFile(uuid);
+            try {
+                if (state == null) {
+                    Files.deleteIfExists(file.toPath());
+                } else {
+                    write(file, serialize(state));
+                }
+                written++;
+            } catch (IOException e) {
+                plugin.getLogger().warning("Failed to save ghost data for " + uuid + ": " + e.getMessage());
+            }
+        }
+
+        int count = written;
+        plugin.debug(DebugCategory.GHOST, () -> "Flushed " + count + " ghost files");
+    }
+
+    /**
+     * Gets the number of ghosts waiting to be written.
+     */
+    public int getDirtyCount() {
+        return dirty.size();
+    }
+
+    private File getFile(UUID uuid) {
+        String name = uuid.toString();
+        return new File(new File(directory, name.substring(0, 2)), name + ".yml");
+    }
+
+    /**
+     * Writes through a temporary file, so a crash never leaves a half-written ghost.
+     */
+    private void write(File file, YamlConfiguration config) throws IOException {
+        File parent = file.getParentFile();
+        if (!parent.exists() && !parent.mkdirs()) {
+            throw new IOException("Cannot create " + parent);
+        }
+
+        long saveStart = System.nanoTime();
+        File temp = new File(parent, file.getName() + ".tmp");
+        config.save(temp);
+        Files.move(temp.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        plugin.getMetrics().recordSave("ghosts", saveStart);
+    }
+
+    // === Serialization ===
+
+    private YamlConfiguration serialize(GhostState state) {
+        YamlConfiguration config = new YamlConfiguration();
+
+        config.set("name", state.getPlayerName());
+        config.set("kingdom", state.getKingdomId());
+        config.set("death-time", state.getDeathTime());
+        config.set("duration-ms", state.getDurationMs());
+        config.set("pending-resurrection", state.isPendingResurrection());
+
+        saveLocation(config, "resurrection-location", state.getPackedResurrectionLocation());
+
+        if (state.getResurrectedBy() != null) {
+            config.set("resurrected-by", state.getResurrectedBy().toString());
+        }
+
+        // Save resurrection cost: the items decide, the pool index lets the load share the pooled cost
+        ResurrectionCostPool.Cost cost = state.getCost();
+        if (cost.getIndex() >= 0) {
+            config.set("resurrection-cost-index", cost.getIndex());
+        }
+        List<Map<String, Object>> costList = new ArrayList<>();
+        for (int i = 0; i < cost.size(); i++) {
+            Map<String, Object> itemData = new HashMap<>();
+            itemData.put("material", cost.getMaterial(i).name());
+            itemData.put("amount", cost.getAmount(i));
+            costList.add(itemData);
+        }
+        config.set("resurrection-cost", costList);
+
+        // Save death and bed spawn locations
+        saveLocation(config, "death-location", state.getPackedDeathLocation());
+        saveLocation(config, "bed-spawn", state.getPackedBedSpawnLocation());
+
+        return config;
+    }
+
+    private GhostState deserialize(UUID uuid, ConfigurationSection section,
+                                   ResurrectionCostPool costPool, long defaultDurationMs) {
+        // Load duration (use saved value or current config)
+        long duration = section.getLong("duration-ms", defaultDurationMs);
+
+        GhostState state = new GhostState(
+                uuid,
+                section.getString("name"),
+                section.getString("kingdom"),
+                section.getLong("death-time"),
+                duration,
+                loadCost(uuid, section, costPool),
+                loadLocation(section, "death-location"),
+                loadLocation(section, "bed-spawn")
+        );
+
+        // Load resurrection data
+        state.setPendingResurrection(section.getBoolean("pending-resurrection", false));
+        state.setPackedResurrectionLocation(loadLocation(section, "resurrection-location"));
+
+        if (section.contains("resurrected-by")) {
+            state.setResurrectedBy(UUID.fromString(section.getString("resurrected-by")));
+        }
+        return state;
+    }
+
+    private void saveLocation(ConfigurationSection section, String path, PackedLocation loc) {
+        if (loc == null) return;
+        section.set(path + ".world", loc.getWorldName());
+        section.set(path + ".x", loc.getX());
+        section.set(path + ".y", loc.getY());
+        section.set(path + ".z", loc.getZ());
+    }
+
+    /**
+     * Reads a saved location. The world doesn't need to be loaded.
+     */
+    private PackedLocation loadLocation(ConfigurationSection section, String path) {
+        if (!section.contains(path + ".world")) return null;
+        return PackedLocation.of(
+                section.getString(path + ".world"),
+                section.getDouble(path + ".x"),
+                section.getDouble(path + ".y"),
+                section.getDouble(path + ".z")
+        );
+    }
+
+    /**
+     * Reads a saved resurrection cost. The pooled cost at the saved index is only used
+     * if it still asks for the saved items (the pool may have been edited since);
+     * otherwise the saved items are kept as they are, outside the pool.
+     */
+    private ResurrectionCostPool.Cost loadCost(UUID uuid, ConfigurationSection section, ResurrectionCostPool pool) {
+        ResurrectionCostPool.Cost saved = ResurrectionCostPool.parseItems(-1, section.getMapList("resurrection-cost"));
+        ResurrectionCostPool.Cost pooled = section.contains("resurrection-cost-index")
+                ? pool.get(section.getInt("resurrection-cost-index"))
+                : null;
+
+        if (saved == null) {
+            if (pooled != null) {
+                // Written with the index only, the items can't be verified
+                return pooled;
+            }
+            plugin.getLogger().warning("Ghost " + uuid + " has no readable resurrection cost, picking a new one");
+            return pool.random();
+        }
+        return pooled != null && pooled.hasSameItems(saved) ? pooled : saved;
+    }
+}
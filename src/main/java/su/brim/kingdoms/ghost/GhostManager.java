@@ -3,20 +3,17 @@ package su.brim.kingdoms.ghost;
 import su.brim.kingdoms.KingdomsAddon;
 import su.brim.kingdoms.config.MessagesConfig;
 import su.brim.kingdoms.ghost.altar.Altar;
+import su.brim.kingdoms.log.EventLog;
+import su.brim.kingdoms.util.DebugCategory;
 import su.brim.kingdoms.util.FoliaUtil;
 import net.kyori.adventure.text.Component;
 import org.bukkit.*;
-import org.bukkit.configuration.ConfigurationSection;
-import org.bukkit.configuration.file.FileConfiguration;
-import org.bukkit.configuration.file.YamlConfiguration;
 import org.bukkit.entity.Player;
-import org.bukkit.inventory.ItemStack;
 import org.bukkit.potion.PotionEffect;
 import org.bukkit.potion.PotionEffectType;
 
-import java.io.File;
-import java.io.IOException;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Collectors;
 
@@ -26,12 +23,15 @@ import java.util.stream.Collectors;
 public class GhostManager {
     
     private final KingdomsAddon plugin;
-    private final File ghostDataFile;
-    private FileConfiguration ghostDataConfig;
+    private final GhostDataStore dataStore;
     
     // Active ghosts (UUID -> GhostState)
     private final Map<UUID, GhostState> ghosts = new ConcurrentHashMap<>();
     
+    // Online players under the ghost rules: added when a player becomes a ghost or joins
+    // as one, removed on resurrection and quit. One lookup for the per-event listeners
+    private final Set<UUID> onlineGhosts = ConcurrentHashMap.newKeySet();
+    
     // Duration in milliseconds
     private long ghostDurationMs;
     
@@ -39,12 +39,22 @@ public class GhostManager {
     private float flightSpeed;
     private int maxFlightHeight;
     
+    // Resurrection costs (parsed once per config load)
+    private volatile ResurrectionCostPool costPool;
+    
     public GhostManager(KingdomsAddon plugin) {
         this.plugin = plugin;
-        this.ghostDataFile = new File(plugin.getDataFolder(), "ghostdata.yml");
+        this.dataStore = new GhostDataStore(plugin, ghosts);
         
         loadConfig();
-        loadGhostData();
+        // Only file names are read on startup; isGhost answers from that index.
+        // Players already online (plugin reload) need their state right away
+        dataStore.loadIndex(costPool, ghostDurationMs);
+        for (Player player : Bukkit.getOnlinePlayers()) {
+            if (loadGhost(player.getUniqueId()) != null) {
+                onlineGhosts.add(player.getUniqueId());
+            }
+        }
         startSelfResurrectChecker();
     }
     
@@ -61,6 +71,8 @@ public class GhostManager {
         this.flightSpeed = Math.max(0.0f, Math.min(1.0f, this.flightSpeed));
         
         this.maxFlightHeight = plugin.getConfig().getInt("ghost-system.max-flight-height", -1);
+        
+        this.costPool = ResurrectionCostPool.parse(plugin.getConfig().getMapList("ghost-system.resurrection-costs"));
     }
     
     /**
@@ -69,21 +81,27 @@ public class GhostManager {
     private void startSelfResurrectChecker() {
         // Check every 10 seconds for ghosts that can self-resurrect
         FoliaUtil.runGlobalRepeating(plugin, () -> {
+            ResurrectionPrewarmer prewarmer = plugin.getResurrectionPrewarmer();
             for (GhostState ghost : ghosts.values()) {
+                Player player = Bukkit.getPlayer(ghost.getPlayerUuid());
+                if (player == null || !player.isOnline()) {
+                    continue;
+                }
+                
                 if (ghost.canSelfResurrect()) {
-                    Player player = Bukkit.getPlayer(ghost.getPlayerUuid());
-                    if (player != null && player.isOnline()) {
-                        // Run on player's region to avoid cross-region issues
-                        FoliaUtil.runOnEntity(plugin, player, () -> {
-                            // Double-check conditions after scheduling
-                            if (player.isOnline() && isGhost(player.getUniqueId())) {
-                                GhostState currentState = ghosts.get(player.getUniqueId());
-                                if (currentState != null && currentState.canSelfResurrect()) {
-                                    performAutoResurrect(player, currentState);
-                                }
+                    // Run on player's region to avoid cross-region issues
+                    FoliaUtil.runOnEntity(plugin, player, () -> {
+                        // Double-check conditions after scheduling
+                        if (player.isOnline() && isGhost(player.getUniqueId())) {
+                            GhostState currentState = ghosts.get(player.getUniqueId());
+                            if (currentState != null && currentState.canSelfResurrect()) {
+                                performAutoResurrect(player, currentState);
                             }
-                        });
-                    }
+                        }
+                    });
+                } else if (prewarmer != null && prewarmer.isNearDeadline(ghost)) {
+                    // Load the destination before the timer runs out
+                    prewarmer.prewarm(ghost.getPlayerUuid(), getResurrectionLocationSafe(ghost));
                 }
             }
         }, 20 * 10, 20 * 10); // Every 10 seconds
@@ -93,7 +111,7 @@ public class GhostManager {
      * Performs automatic resurrection when time expires.
      */
     private void performAutoResurrect(Player player, GhostState state) {
-        plugin.debug("Auto-resurrecting " + player.getName() + " (time expired)");
+        plugin.debug(DebugCategory.GHOST, () -> "Auto-resurrecting " + player.getName() + " (time expired)");
         
         // Use safe location getter that doesn't rely on getRespawnLocation()
         // which can fail in Folia when called from wrong region
@@ -114,7 +132,7 @@ public class GhostManager {
      * Called from GhostVisibilityListener on player join.
      */
     public void checkAutoResurrectOnJoin(Player player) {
-        GhostState state = ghosts.get(player.getUniqueId());
+        GhostState state = loadGhost(player.getUniqueId());
         if (state == null) return;
         
         if (state.canSelfResurrect()) {
@@ -147,8 +165,8 @@ public class GhostManager {
     public void makeGhost(Player player, String kingdomId, Location deathLocation, Location bedSpawnLocation) {
         UUID uuid = player.getUniqueId();
         
-        // Generate resurrection cost
-        List<ItemStack> cost = generateResurrectionCost();
+        // Pick resurrection cost
+        ResurrectionCostPool.Cost cost = costPool.random();
         
         // Use provided death location or current location as fallback
         Location actualDeathLoc = deathLocation != null ? deathLocation : player.getLocation();
@@ -161,11 +179,16 @@ public class GhostManager {
                 System.currentTimeMillis(),
                 ghostDurationMs,
                 cost,
-                actualDeathLoc,
-                bedSpawnLocation
+                PackedLocation.of(actualDeathLoc),
+                PackedLocation.of(bedSpawnLocation)
         );
         
+        // A stale saved state must never be loaded over the new one
+        dataStore.forget(uuid);
         ghosts.put(uuid, state);
+        plugin.getPlaceholderCache().invalidate(uuid);
+        // After the put: the ghost rules must hold before the player can act as a ghost
+        markOnline(player);
         
         // Apply ghost effects (invisibility + glowing)
         applyGhostEffects(player);
@@ -179,12 +202,13 @@ public class GhostManager {
         startActionbarTimer(player, state);
         
         // Save data
-        saveGhostData();
+        dataStore.markDirty(uuid);
         
         // Notify player
         player.sendMessage(plugin.getMessagesConfig().getComponentWithPrefix("ghost.became-ghost"));
         
-        plugin.debug("Player " + player.getName() + " became a ghost");
+        plugin.debug(DebugCategory.GHOST, () -> "Player " + player.getName() + " became a ghost");
+        logEvent("became-ghost", player.getName(), actualDeathLoc, kingdomId);
     }
     
     /**
@@ -300,7 +324,7 @@ public class GhostManager {
      * @return true if successful
      */
     public boolean resurrect(UUID ghostUuid, Location location, UUID resurrectedBy) {
-        GhostState state = ghosts.get(ghostUuid);
+        GhostState state = loadGhost(ghostUuid);
         if (state == null) return false;
         
         Player player = Bukkit.getPlayer(ghostUuid);
@@ -313,9 +337,10 @@ public class GhostManager {
             state.setPendingResurrection(true);
             state.setResurrectionLocation(location);
             state.setResurrectedBy(resurrectedBy);
-            saveGhostData();
+            dataStore.markDirty(ghostUuid);
             
-            plugin.debug("Marked offline ghost " + state.getPlayerName() + " for resurrection");
+            plugin.debug(DebugCategory.GHOST, () -> "Marked offline ghost " + state.getPlayerName() + " for resurrection");
+            logEvent("pending-resurrection", state.getPlayerName(), location, null);
         }
         
         return true;
@@ -327,8 +352,12 @@ public class GhostManager {
     private void performResurrection(Player player, Location location, UUID resurrectedBy) {
         UUID uuid = player.getUniqueId();
         GhostState state = ghosts.remove(uuid);
+        onlineGhosts.remove(uuid);
         
         if (state == null) return;
+        plugin.getPlaceholderCache().invalidate(uuid);
+        plugin.getMetrics().recordResurrection();
+        plugin.getGhostListenerLifecycle().requestUpdate();
         
         // Remove ghost effects
         removeGhostEffects(player);
@@ -338,6 +367,10 @@ public class GhostManager {
             plugin.getTeamColorManager().updatePlayer(player);
         }
         
+        if (plugin.getResurrectionPrewarmer() != null) {
+            plugin.getResurrectionPrewarmer().recordTeleport(uuid, location);
+        }
+        
         // Teleport to resurrection location
         FoliaUtil.teleportAsync(player, location).thenAccept(success -> {
             if (success) {
@@ -364,8 +397,19 @@ public class GhostManager {
             }
         });
         
-        saveGhostData();
-        plugin.debug("Resurrected " + player.getName());
+        dataStore.markDirty(uuid);
+        plugin.debug(DebugCategory.GHOST, () -> "Resurrected " + player.getName());
+        logEvent("resurrected", player.getName(), location, resurrectedBy != null ? "by ally" : "self");
+    }
+    
+    /**
+     * Records a ghost event into the event log (subject to sampling).
+     */
+    private void logEvent(String action, String playerName, Location location, String details) {
+        EventLog eventLog = plugin.getEventLog();
+        if (eventLog.sample(EventLog.Type.GHOST)) {
+            eventLog.record(EventLog.Type.GHOST, action, playerName, location, details);
+        }
     }
     
     /**
@@ -373,93 +417,124 @@ public class GhostManager {
      * Reapplies ghost effects or processes pending resurrection.
      */
     public void handleGhostJoin(Player player) {
-        GhostState state = ghosts.get(player.getUniqueId());
-        if (state == null) return;
+        GhostState state = loadGhost(player.getUniqueId());
+        if (state != null) {
+            handleGhostJoin(player, state);
+        }
+    }
+    
+    /**
+     * Handles a ghost player joining with a state resolved at pre-login.
+     */
+    public void handleGhostJoin(Player player, GhostState state) {
+        // Resurrected in the meantime (state was resolved before the join)
+        if (ghosts.get(player.getUniqueId()) != state) return;
+        // Normally already done on PlayerJoinEvent (GhostVisibilityListener)
+        markOnline(player);
         
+        // Called from the join pipeline on the player's region, so no extra scheduling
         if (state.isPendingResurrection()) {
             // Process pending resurrection
             Location loc = state.getResurrectionLocation();
             if (loc != null) {
-                FoliaUtil.runDelayed(plugin, player, () -> {
-                    performResurrection(player, loc, state.getResurrectedBy());
-                }, 1L);
+                performResurrection(player, loc, state.getResurrectedBy());
             }
         } else if (state.canSelfResurrect()) {
             // Auto-resurrect on join if time has expired
-            FoliaUtil.runDelayed(plugin, player, () -> {
-                if (player.isOnline() && isGhost(player.getUniqueId())) {
-                    performAutoResurrect(player, state);
-                }
-            }, 1L);
+            performAutoResurrect(player, state);
         } else {
             // Reapply ghost effects and restart actionbar timer
-            FoliaUtil.runDelayed(plugin, player, () -> {
-                applyGhostEffects(player);
-                startActionbarTimer(player, state);
-            }, 1L);
+            applyGhostEffects(player);
+            startActionbarTimer(player, state);
         }
     }
     
     /**
-     * Checks if a player is a ghost.
+     * Puts an online ghost under the ghost rules: marks them for the per-event
+     * listeners and makes sure those listeners are registered.
+     */
+    public void markOnline(Player player) {
+        onlineGhosts.add(player.getUniqueId());
+        plugin.getGhostListenerLifecycle().ghostOnline();
+    }
+    
+    /**
+     * Forgets the online ghost mark of a player who left.
+     */
+    public void markOffline(UUID uuid) {
+        onlineGhosts.remove(uuid);
+    }
+    
+    /**
+     * Checks if an online player is a ghost, with a single set lookup.
+     * For listeners of frequent events; other callers use {@link #isGhost(UUID)}.
+     */
+    public boolean isOnlineGhost(Player player) {
+        return onlineGhosts.contains(player.getUniqueId());
+    }
+    
+    /**
+     * Checks if a player is a ghost. Saved ghosts count even before their file is loaded.
      */
     public boolean isGhost(UUID uuid) {
-        return ghosts.containsKey(uuid);
+        // Index first: a loaded ghost is put in the map before it leaves the index
+        return dataStore.isUnloaded(uuid) || ghosts.containsKey(uuid);
     }
     
     /**
-     * Gets all ghosts for a kingdom.
+     * Gets a ghost's state, loading its file if it wasn't needed yet.
      */
-    public List<GhostState> getGhostsForKingdom(String kingdomId) {
-        return ghosts.values().stream()
-                .filter(g -> g.getKingdomId().equals(kingdomId))
-                .collect(Collectors.toList());
+    private GhostState loadGhost(UUID uuid) {
+        GhostState state = ghosts.get(uuid);
+        return state != null ? state : dataStore.load(uuid, costPool, ghostDurationMs);
     }
     
     /**
-     * Generates a random resurrection cost from the config pool.
+     * Starts loading the offline ghost history in the background, once.
+     * Views of all ghosts wait for it; callers on a region thread should wait
+     * for this future instead.
+     *
+     * @return future completed once every saved ghost is loaded
      */
-    private List<ItemStack> generateResurrectionCost() {
-        List<ItemStack> cost = new ArrayList<>();
-        
-        List<Map<?, ?>> costPool = plugin.getConfig().getMapList("ghost-system.resurrection-costs");
-        if (costPool.isEmpty()) {
-            // Default cost
-            cost.add(new ItemStack(Material.DIAMOND, 1));
-            return cost;
-        }
-        
-        // Pick random cost from pool
-        Random random = new Random();
-        Map<?, ?> selectedCost = costPool.get(random.nextInt(costPool.size()));
-        
-        @SuppressWarnings("unchecked")
-        List<Map<?, ?>> items = (List<Map<?, ?>>) selectedCost.get("items");
-        if (items != null) {
-            for (Map<?, ?> itemData : items) {
-                String materialName = (String) itemData.get("material");
-                int amount = itemData.get("amount") instanceof Number ? 
-                        ((Number) itemData.get("amount")).intValue() : 1;
-                
-                Material material = Material.matchMaterial(materialName);
-                if (material != null) {
-                    cost.add(new ItemStack(material, amount));
-                }
-            }
+    public CompletableFuture<Void> loadHistory() {
+        return dataStore.loadRemainingAsync(costPool, ghostDurationMs);
+    }
+    
+    /**
+     * Gets the ghost map with the offline history loaded.
+     */
+    private Map<UUID, GhostState> allGhosts() {
+        if (dataStore.getUnloadedCount() > 0) {
+            loadHistory().join();
         }
-        
-        if (cost.isEmpty()) {
-            cost.add(new ItemStack(Material.DIAMOND, 1));
+        return ghosts;
+    }
+    
+    /**
+     * Estimates the heap used by the loaded ghost states in bytes.
+     */
+    public long getEstimatedMemoryBytes() {
+        long total = 0;
+        for (GhostState state : ghosts.values()) {
+            total += state.getEstimatedSizeBytes();
         }
-        
-        return cost;
+        return total;
+    }
+    
+    /**
+     * Gets all ghosts for a kingdom, loading the offline history on first use.
+     */
+    public List<GhostState> getGhostsForKingdom(String kingdomId) {
+        return allGhosts().values().stream()
+                .filter(g -> g.getKingdomId().equals(kingdomId))
+                .collect(Collectors.toList());
     }
     
     /**
      * Notifies a ghost that self-resurrection is available.
      */
     private void notifySelfResurrectAvailable(Player player) {
-        GhostState state = ghosts.get(player.getUniqueId());
+        GhostState state = loadGhost(player.getUniqueId());
         if (state == null || !state.canSelfResurrect()) return;
         
         // Only notify once by checking if we've already notified
@@ -472,7 +547,7 @@ public class GhostManager {
      * Handles self-resurrection for a ghost.
      */
     public boolean performSelfResurrect(Player player) {
-        GhostState state = ghosts.get(player.getUniqueId());
+        GhostState state = loadGhost(player.getUniqueId());
         if (state == null) return false;
         
         if (!state.canSelfResurrect()) {
@@ -491,7 +566,7 @@ public class GhostManager {
         if (location == null) {
             // Last resort - use player's current location
             location = player.getLocation();
-            plugin.debug("Using player's current location for self-resurrect (no other location available)");
+            plugin.debug(DebugCategory.GHOST, "Using player's current location for self-resurrect (no other location available)");
         }
         
         performResurrection(player, location, null);
@@ -523,7 +598,7 @@ public class GhostManager {
                 try {
                     result = player.getRespawnLocation();
                 } catch (Exception e) {
-                    plugin.debug("Could not get respawn location for " + player.getName() + ": " + e.getMessage());
+                    plugin.debug(DebugCategory.GHOST, () -> "Could not get respawn location for " + player.getName() + ": " + e.getMessage());
                 }
                 break;
         }
@@ -557,8 +632,9 @@ public class GhostManager {
      */
     public Location getResurrectionLocationSafe(GhostState state) {
         // Priority 1: Bed/anchor spawn (saved at death time)
-        if (state.getBedSpawnLocation() != null && state.getBedSpawnLocation().getWorld() != null) {
-            return state.getBedSpawnLocation();
+        Location bedSpawn = state.getBedSpawnLocation();
+        if (bedSpawn != null) {
+            return bedSpawn;
         }
         
         // Priority 2: Kingdom spawn
@@ -568,11 +644,7 @@ public class GhostManager {
         }
         
         // Priority 3: Death location (fallback)
-        if (state.getDeathLocation() != null && state.getDeathLocation().getWorld() != null) {
-            return state.getDeathLocation();
-        }
-        
-        return null;
+        return state.getDeathLocation();
     }
     
     /**
@@ -597,164 +669,14 @@ public class GhostManager {
     }
     
     /**
-     * Saves ghost data to file.
+     * Writes pending ghost changes to disk right away (on shutdown).
      */
     public void saveGhostData() {
-        ghostDataConfig = new YamlConfiguration();
-        
-        for (Map.Entry<UUID, GhostState> entry : ghosts.entrySet()) {
-            GhostState state = entry.getValue();
-            String path = "ghosts." + entry.getKey().toString();
-            
-            ghostDataConfig.set(path + ".name", state.getPlayerName());
-            ghostDataConfig.set(path + ".kingdom", state.getKingdomId());
-            ghostDataConfig.set(path + ".death-time", state.getDeathTime());
-            ghostDataConfig.set(path + ".duration-ms", state.getDurationMs());
-            ghostDataConfig.set(path + ".pending-resurrection", state.isPendingResurrection());
-            
-            if (state.getResurrectionLocation() != null) {
-                Location loc = state.getResurrectionLocation();
-                ghostDataConfig.set(path + ".resurrection-location.world", loc.getWorld().getName());
-                ghostDataConfig.set(path + ".resurrection-location.x", loc.getX());
-                ghostDataConfig.set(path + ".resurrection-location.y", loc.getY());
-                ghostDataConfig.set(path + ".resurrection-location.z", loc.getZ());
-            }
-            
-            if (state.getResurrectedBy() != null) {
-                ghostDataConfig.set(path + ".resurrected-by", state.getResurrectedBy().toString());
-            }
-            
-            // Save resurrection cost
-            List<Map<String, Object>> costList = new ArrayList<>();
-            for (ItemStack item : state.getResurrectionCost()) {
-                Map<String, Object> itemData = new HashMap<>();
-                itemData.put("material", item.getType().name());
-                itemData.put("amount", item.getAmount());
-                costList.add(itemData);
-            }
-            ghostDataConfig.set(path + ".resurrection-cost", costList);
-            
-            // Save death location
-            if (state.getDeathLocation() != null) {
-                Location loc = state.getDeathLocation();
-                ghostDataConfig.set(path + ".death-location.world", loc.getWorld().getName());
-                ghostDataConfig.set(path + ".death-location.x", loc.getX());
-                ghostDataConfig.set(path + ".death-location.y", loc.getY());
-                ghostDataConfig.set(path + ".death-location.z", loc.getZ());
-            }
-            
-            // Save bed spawn location
-            if (state.getBedSpawnLocation() != null) {
-                Location loc = state.getBedSpawnLocation();
-                ghostDataConfig.set(path + ".bed-spawn.world", loc.getWorld().getName());
-                ghostDataConfig.set(path + ".bed-spawn.x", loc.getX());
-                ghostDataConfig.set(path + ".bed-spawn.y", loc.getY());
-                ghostDataConfig.set(path + ".bed-spawn.z", loc.getZ());
-            }
-        }
-        
-        try {
-            ghostDataConfig.save(ghostDataFile);
-        } catch (IOException e) {
-            plugin.getLogger().warning("Failed to save ghost data: " + e.getMessage());
-        }
+        dataStore.flush();
     }
     
-    /**
-     * Loads ghost data from file.
-     */
-    private void loadGhostData() {
-        if (!ghostDataFile.exists()) {
-            return;
-        }
-        
-        ghostDataConfig = YamlConfiguration.loadConfiguration(ghostDataFile);
-        ConfigurationSection ghostsSection = ghostDataConfig.getConfigurationSection("ghosts");
-        
-        if (ghostsSection == null) return;
-        
-        for (String uuidStr : ghostsSection.getKeys(false)) {
-            try {
-                UUID uuid = UUID.fromString(uuidStr);
-                String path = "ghosts." + uuidStr;
-                
-                String name = ghostDataConfig.getString(path + ".name");
-                String kingdom = ghostDataConfig.getString(path + ".kingdom");
-                long deathTime = ghostDataConfig.getLong(path + ".death-time");
-                
-                // Load resurrection cost
-                List<ItemStack> cost = new ArrayList<>();
-                List<Map<?, ?>> costList = ghostDataConfig.getMapList(path + ".resurrection-cost");
-                for (Map<?, ?> itemData : costList) {
-                    String materialName = (String) itemData.get("material");
-                    int amount = itemData.get("amount") instanceof Number ?
-                            ((Number) itemData.get("amount")).intValue() : 1;
-                    Material material = Material.matchMaterial(materialName);
-                    if (material != null) {
-                        cost.add(new ItemStack(material, amount));
-                    }
-                }
-                
-                // Load death location
-                Location deathLoc = null;
-                if (ghostDataConfig.contains(path + ".death-location.world")) {
-                    World world = Bukkit.getWorld(ghostDataConfig.getString(path + ".death-location.world"));
-                    if (world != null) {
-                        deathLoc = new Location(
-                                world,
-                                ghostDataConfig.getDouble(path + ".death-location.x"),
-                                ghostDataConfig.getDouble(path + ".death-location.y"),
-                                ghostDataConfig.getDouble(path + ".death-location.z")
-                        );
-                    }
-                }
-                
-                // Load bed spawn location
-                Location bedSpawnLoc = null;
-                if (ghostDataConfig.contains(path + ".bed-spawn.world")) {
-                    World world = Bukkit.getWorld(ghostDataConfig.getString(path + ".bed-spawn.world"));
-                    if (world != null) {
-                        bedSpawnLoc = new Location(
-                                world,
-                                ghostDataConfig.getDouble(path + ".bed-spawn.x"),
-                                ghostDataConfig.getDouble(path + ".bed-spawn.y"),
-                                ghostDataConfig.getDouble(path + ".bed-spawn.z")
-                        );
-                    }
-                }
-                
-                // Load duration (use saved value or current config)
-                long duration = ghostDataConfig.getLong(path + ".duration-ms", ghostDurationMs);
-                
-                GhostState state = new GhostState(uuid, name, kingdom, deathTime, duration, cost, deathLoc, bedSpawnLoc);
-                
-                // Load resurrection data
-                state.setPendingResurrection(ghostDataConfig.getBoolean(path + ".pending-resurrection", false));
-                
-                if (ghostDataConfig.contains(path + ".resurrection-location.world")) {
-                    World world = Bukkit.getWorld(ghostDataConfig.getString(path + ".resurrection-location.world"));
-                    if (world != null) {
-                        state.setResurrectionLocation(new Location(
-                                world,
-                                ghostDataConfig.getDouble(path + ".resurrection-location.x"),
-                                ghostDataConfig.getDouble(path + ".resurrection-location.y"),
-                                ghostDataConfig.getDouble(path + ".resurrection-location.z")
-                        ));
-                    }
-                }
-                
-                if (ghostDataConfig.contains(path + ".resurrected-by")) {
-                    state.setResurrectedBy(UUID.fromString(ghostDataConfig.getString(path + ".resurrected-by")));
-                }
-                
-                ghosts.put(uuid, state);
-                
-            } catch (Exception e) {
-                plugin.getLogger().warning("Failed to load ghost data for " + uuidStr + ": " + e.getMessage());
-            }
-        }
-        
-        plugin.getLogger().info("Loaded " + ghosts.size() + " ghost states.");
+    public GhostDataStore getDataStore() {
+        return dataStore;
     }
     
     /**
@@ -787,19 +709,26 @@ public class GhostManager {
     }
     
     /**
-     * Gets all current ghosts (UUID -> GhostState).
+     * Gets the number of ghosts, including saved ones that are not loaded yet.
+     */
+    public int getGhostCount() {
+        return ghosts.size() + dataStore.getUnloadedCount();
+    }
+    
+    /**
+     * Gets all current ghosts (UUID -> GhostState), loading the offline history on first use.
      * Used for admin commands like tpghost.
      */
     public Map<UUID, GhostState> getAllGhosts() {
-        return Collections.unmodifiableMap(ghosts);
+        return Collections.unmodifiableMap(allGhosts());
     }
     
     /**
-     * Gets the ghost state for a player.
+     * Gets the ghost state for a player, loading it if it wasn't needed yet.
      * @param playerUuid The player's UUID
      * @return GhostState, or null if not a ghost
      */
     public GhostState getGhostState(UUID playerUuid) {
-        return ghosts.get(playerUuid);
+        return loadGhost(playerUuid);
     }
 }
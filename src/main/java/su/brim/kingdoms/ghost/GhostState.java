@@ -1,52 +1,81 @@
 package su.brim.kingdoms.ghost;
 
 import org.bukkit.Location;
+import org.bukkit.Material;
 import org.bukkit.inventory.ItemStack;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.UUID;
 
 /**
  * Represents the state of a ghost (dead player waiting for resurrection).
+ * Stored compactly: locations are packed coordinates with a world index and the
+ * cost is a shared entry of the resurrection cost pool. Bukkit locations and item
+ * stacks are created only when requested through the getters.
  */
 public class GhostState {
     
+    private static final byte FLAG_PENDING_RESURRECTION = 1;
+    private static final byte FLAG_SELF_RESURRECT_NOTIFIED = 1 << 1;
+    
     private final UUID playerUuid;
     private final String playerName;
     private final String kingdomId;
     private final long deathTime;
     private final long durationMs;
-    private final List<ItemStack> resurrectionCost;
-    private final Location deathLocation;
-    private final Location bedSpawnLocation; // Player's bed/anchor spawn at time of death
+    private final ResurrectionCostPool.Cost cost;
+    private final PackedLocation deathLocation;
+    private final PackedLocation bedSpawnLocation; // Player's bed/anchor spawn at time of death
     
     // Resurrection data (set when resurrected while offline)
-    private boolean pendingResurrection = false;
-    private Location resurrectionLocation = null;
-    private UUID resurrectedBy = null;
+    private volatile PackedLocation resurrectionLocation = null;
+    private volatile UUID resurrectedBy = null;
     
-    // Flag to track if self-resurrect notification was sent
-    private boolean selfResurrectNotified = false;
+    // Pending resurrection and self-resurrect notification flags
+    private volatile byte flags = 0;
     
     public GhostState(UUID playerUuid, String playerName, String kingdomId, 
                       long deathTime, long durationMs, List<ItemStack> resurrectionCost, 
                       Location deathLocation, Location bedSpawnLocation) {
+        this(playerUuid, playerName, kingdomId, deathTime, durationMs,
+                detachedCost(resurrectionCost),
+                PackedLocation.of(deathLocation), PackedLocation.of(bedSpawnLocation));
+    }
+    
+    /**
+     * Legacy constructor for backward compatibility.
+     */
+    public GhostState(UUID playerUuid, String playerName, String kingdomId, 
+                      long deathTime, long durationMs, List<ItemStack> resurrectionCost, Location deathLocation) {
+        this(playerUuid, playerName, kingdomId, deathTime, durationMs, resurrectionCost, deathLocation, null);
+    }
+    
+    GhostState(UUID playerUuid, String playerName, String kingdomId, long deathTime, long durationMs,
+               ResurrectionCostPool.Cost cost,
+               PackedLocation deathLocation, PackedLocation bedSpawnLocation) {
         this.playerUuid = playerUuid;
         this.playerName = playerName;
-        this.kingdomId = kingdomId;
+        // Only a few kingdom IDs exist, share the strings between all ghosts
+        this.kingdomId = kingdomId != null ? kingdomId.intern() : null;
         this.deathTime = deathTime;
         this.durationMs = durationMs;
-        this.resurrectionCost = resurrectionCost;
+        this.cost = cost;
         this.deathLocation = deathLocation;
         this.bedSpawnLocation = bedSpawnLocation;
     }
     
     /**
-     * Legacy constructor for backward compatibility.
+     * Wraps an explicit item list into a cost that is not part of the pool.
      */
-    public GhostState(UUID playerUuid, String playerName, String kingdomId, 
-                      long deathTime, long durationMs, List<ItemStack> resurrectionCost, Location deathLocation) {
-        this(playerUuid, playerName, kingdomId, deathTime, durationMs, resurrectionCost, deathLocation, null);
+    private static ResurrectionCostPool.Cost detachedCost(List<ItemStack> items) {
+        Material[] materials = new Material[items.size()];
+        int[] amounts = new int[items.size()];
+        for (int i = 0; i < materials.length; i++) {
+            materials[i] = items.get(i).getType();
+            amounts[i] = items.get(i).getAmount();
+        }
+        return new ResurrectionCostPool.Cost(-1, materials, amounts);
     }
     
     /**
@@ -107,32 +136,53 @@ public class GhostState {
         return durationMs;
     }
     
+    /**
+     * Gets the resurrection cost as new item stacks.
+     */
     public List<ItemStack> getResurrectionCost() {
-        return resurrectionCost;
+        List<ItemStack> items = new ArrayList<>(cost.size());
+        for (int i = 0; i < cost.size(); i++) {
+            items.add(cost.createItem(i));
+        }
+        return items;
     }
     
+    /**
+     * Gets the resurrection cost entry (shared with other ghosts, immutable).
+     */
+    public ResurrectionCostPool.Cost getCost() {
+        return cost;
+    }
+    
+    /**
+     * Gets the death location, or null if it's unknown or its world is not loaded.
+     */
     public Location getDeathLocation() {
-        return deathLocation;
+        return deathLocation != null ? deathLocation.toLocation() : null;
     }
     
+    /**
+     * Gets the bed spawn location, or null if there was none or its world is not loaded.
+     */
     public Location getBedSpawnLocation() {
-        return bedSpawnLocation;
+        return bedSpawnLocation != null ? bedSpawnLocation.toLocation() : null;
     }
     
     public boolean isPendingResurrection() {
-        return pendingResurrection;
+        return (flags & FLAG_PENDING_RESURRECTION) != 0;
     }
     
     public void setPendingResurrection(boolean pendingResurrection) {
-        this.pendingResurrection = pendingResurrection;
+        setFlag(FLAG_PENDING_RESURRECTION, pendingResurrection);
     }
     
     public Location getResurrectionLocation() {
-        return resurrectionLocation;
+        PackedLocation location = resurrectionLocation;
+        return location != null ? location.toLocation() : null;
     }
     
     public void setResurrectionLocation(Location resurrectionLocation) {
-        this.resurrectionLocation = resurrectionLocation;
+        this.resurrectionLocation = PackedLocation.of(resurrectionLocation);
     }
     
     public UUID getResurrectedBy() {
@@ -144,10 +194,56 @@ public class GhostState {
     }
     
     public boolean isSelfResurrectNotified() {
-        return selfResurrectNotified;
+        return (flags & FLAG_SELF_RESURRECT_NOTIFIED) != 0;
     }
     
     public void setSelfResurrectNotified(boolean selfResurrectNotified) {
-        this.selfResurrectNotified = selfResurrectNotified;
+        setFlag(FLAG_SELF_RESURRECT_NOTIFIED, selfResurrectNotified);
+    }
+    
+    private synchronized void setFlag(byte flag, boolean value) {
+        flags = (byte) (value ? flags | flag : flags & ~flag);
+    }
+    
+    // === Packed data (saving, diagnostics) ===
+    
+    PackedLocation getPackedDeathLocation() {
+        return deathLocation;
+    }
+    
+    PackedLocation getPackedBedSpawnLocation() {
+        return bedSpawnLocation;
+    }
+    
+    PackedLocation getPackedResurrectionLocation() {
+        return resurrectionLocation;
+    }
+    
+    void setPackedResurrectionLocation(PackedLocation resurrectionLocation) {
+        this.resurrectionLocation = resurrectionLocation;
+    }
+    
+    /**
+     * Estimates the heap size of this state in bytes (compressed oops, 8-byte alignment).
+     */
+    public long getEstimatedSizeBytes() {
+        long size = 56; // Object header and fields
+        size += 32; // Player UUID
+        if (playerName != null) {
+            size += 40 + playerName.length(); // String + Latin-1 byte array
+        }
+        if (cost.getIndex() < 0) {
+            // Pooled costs are shared, only detached ones belong to this ghost
+            size += 24 + align(16 + 4L * cost.size()) * 2;
+        }
+        if (deathLocation != null) size += PackedLocation.ESTIMATED_BYTES;
+        if (bedSpawnLocation != null) size += PackedLocation.ESTIMATED_BYTES;
+        if (resurrectionLocation != null) size += PackedLocation.ESTIMATED_BYTES;
+        if (resurrectedBy != null) size += 32;
+        return size;
+    }
+    
+    private static long align(long size) {
+        return (size + 7) & ~7L;
     }
 }
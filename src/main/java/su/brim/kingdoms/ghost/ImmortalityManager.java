@@ -2,6 +2,7 @@ package su.brim.kingdoms.ghost;
 
 import su.brim.kingdoms.KingdomsAddon;
 import su.brim.kingdoms.config.MessagesConfig;
+import su.brim.kingdoms.util.DebugCategory;
 import su.brim.kingdoms.util.FoliaUtil;
 import org.bukkit.*;
 import org.bukkit.configuration.file.FileConfiguration;
@@ -88,6 +89,7 @@ public class ImmortalityManager {
     private void startExpirationChecker() {
         FoliaUtil.runGlobalRepeating(plugin, () -> {
             long now = System.currentTimeMillis();
+            boolean removed = false;
             
             Iterator<Map.Entry<UUID, Long>> iterator = activeEffects.entrySet().iterator();
             while (iterator.hasNext()) {
@@ -104,10 +106,13 @@ public class ImmortalityManager {
                                     .getComponentWithPrefix("ghost.immortality.expired"));
                         });
                     }
-                    
-                    saveData();
+                    removed = true;
                 }
             }
+            
+            if (removed) {
+                FoliaUtil.runAsync(plugin, this::saveData);
+            }
         }, 20 * 30, 20 * 30); // Check every 30 seconds
     }
     
@@ -144,6 +149,15 @@ public class ImmortalityManager {
         return enabled;
     }
     
+    /**
+     * Checks if any player has an active immortality effect.
+     * Reads the map's size counters without hashing or locking, so damage handling can skip
+     * everything else in the common case. Always reflects completed grants and removals.
+     */
+    public boolean isAnyActive() {
+        return !activeEffects.isEmpty();
+    }
+    
     /**
      * Checks if a player has an active immortality effect.
      */
@@ -154,7 +168,7 @@ public class ImmortalityManager {
         // Check if expired
         if (System.currentTimeMillis() >= expiration) {
             activeEffects.remove(playerUuid);
-            saveData();
+            FoliaUtil.runAsync(plugin, this::saveData);
             return false;
         }
         
@@ -222,8 +236,8 @@ public class ImmortalityManager {
                 MessagesConfig.placeholder("duration", durationText)
         ));
         
-        saveData();
-        plugin.debug("Granted immortality to " + player.getName() + " for " + durationText);
+        FoliaUtil.runAsync(plugin, this::saveData);
+        plugin.debug(DebugCategory.GHOST, () -> "Granted immortality to " + player.getName() + " for " + durationText);
         
         return true;
     }
@@ -244,7 +258,9 @@ public class ImmortalityManager {
         
         // Remove the effect
         activeEffects.remove(uuid);
-        saveData();
+        plugin.getMetrics().recordImmortalityTrigger();
+        // Runs inside a damage event, keep the file write off the region thread
+        FoliaUtil.runAsync(plugin, this::saveData);
         
         // Apply totem-like effects
         
@@ -277,7 +293,7 @@ public class ImmortalityManager {
         player.sendMessage(plugin.getMessagesConfig()
                 .getComponentWithPrefix("ghost.immortality.triggered"));
         
-        plugin.debug("Immortality triggered for " + player.getName());
+        plugin.debug(DebugCategory.GHOST, () -> "Immortality triggered for " + player.getName());
         
         return true;
     }
@@ -337,15 +353,17 @@ public class ImmortalityManager {
     /**
      * Saves immortality data to file.
      */
-    public void saveData() {
+    public synchronized void saveData() {
         dataConfig = new YamlConfiguration();
         
         for (Map.Entry<UUID, Long> entry : activeEffects.entrySet()) {
             dataConfig.set("immortality." + entry.getKey().toString(), entry.getValue());
         }
         
+        long saveStart = System.nanoTime();
         try {
             dataConfig.save(dataFile);
+            plugin.getMetrics().recordSave("immortality", saveStart);
         } catch (IOException e) {
             plugin.getLogger().warning("Failed to save immortality data: " + e.getMessage());
         }
@@ -359,7 +377,7 @@ public class ImmortalityManager {
             return;
         }
         
-        dataConfig = YamlConfiguration.loadConfiguration(dataFile);
+        dataConfig = plugin.getDataFileLoader().load(dataFile);
         
         if (dataConfig.contains("immortality")) {
             for (String uuidStr : dataConfig.getConfigurationSection("immortality").getKeys(false)) {
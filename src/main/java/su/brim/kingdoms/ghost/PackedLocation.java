@@ -0,0 +1,98 @@
+package su.brim.kingdoms.ghost;
+
+import org.bukkit.Bukkit;
+import org.bukkit.Location;
+import org.bukkit.World;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Compact immutable location used by ghost states.
+ * Keeps the world as an index into a shared name table instead of a world reference,
+ * so stored ghosts don't hold Bukkit objects and survive unloaded worlds.
+ */
+final class PackedLocation {
+
+    // Object header + int + 3 doubles + 2 floats
+    static final int ESTIMATED_BYTES = 48;
+
+    // World name table shared by all packed locations (only grows, a server has few worlds)
+    private static final Map<String, Integer> WORLD_INDEX = new HashMap<>();
+    private static volatile String[] worldNames = new String[0];
+
+    private final int world;
+    private final double x, y, z;
+    private final float yaw, pitch;
+
+    private PackedLocation(int world, double x, double y, double z, float yaw, float pitch) {
+        this.world = world;
+        this.x = x;
+        this.y = y;
+        this.z = z;
+        this.yaw = yaw;
+        this.pitch = pitch;
+    }
+
+    /**
+     * Packs a location. Returns null for null locations or locations without a world.
+     */
+    static PackedLocation of(Location location) {
+        if (location == null || location.getWorld() == null) {
+            return null;
+        }
+        return new PackedLocation(indexOf(location.getWorld().getName()),
+                location.getX(), location.getY(), location.getZ(), location.getYaw(), location.getPitch());
+    }
+
+    /**
+     * Packs saved coordinates. The world doesn't have to be loaded.
+     */
+    static PackedLocation of(String worldName, double x, double y, double z) {
+        if (worldName == null) {
+            return null;
+        }
+        return new PackedLocation(indexOf(worldName), x, y, z, 0f, 0f);
+    }
+
+    private static synchronized int indexOf(String worldName) {
+        Integer index = WORLD_INDEX.get(worldName);
+        if (index == null) {
+            String[] names = worldNames;
+            String[] grown = new String[names.length + 1];
+            System.arraycopy(names, 0, grown, 0, names.length);
+            grown[names.length] = worldName;
+            index = names.length;
+            WORLD_INDEX.put(worldName, index);
+            worldNames = grown;
+        }
+        return index;
+    }
+
+    String getWorldName() {
+        return worldNames[world];
+    }
+
+    double getX() {
+        return x;
+    }
+
+    double getY() {
+        return y;
+    }
+
+    double getZ() {
+        return z;
+    }
+
+    /**
+     * Creates a Bukkit location, or null if the world is not loaded.
+     */
+    Location toLocation() {
+        World bukkitWorld = Bukkit.getWorld(getWorldName());
+        if (bukkitWorld == null) {
+            return null;
+        }
+        return new Location(bukkitWorld, x, y, z, yaw, pitch);
+    }
+}
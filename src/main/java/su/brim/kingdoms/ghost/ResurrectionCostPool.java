@@ -0,0 +1,144 @@
+package su.brim.kingdoms.ghost;
+
+import org.bukkit.Material;
+import org.bukkit.inventory.ItemStack;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Immutable table of resurrection costs parsed once from "ghost-system.resurrection-costs".
+ * Ghosts share the cost objects of the table; the index is only a hint when
+ * ghost data is loaded, the saved items decide.
+ */
+public final class ResurrectionCostPool {
+
+    /**
+     * Single cost option: materials with their amounts.
+     */
+    public static final class Cost {
+        private final int index;
+        private final Material[] materials;
+        private final int[] amounts;
+
+        Cost(int index, Material[] materials, int[] amounts) {
+            this.index = index;
+            this.materials = materials;
+            this.amounts = amounts;
+        }
+
+        /**
+         * Gets the index of this cost in the pool, or -1 if it is not part of the current pool
+         * (loaded from an older ghost data file).
+         */
+        public int getIndex() {
+            return index;
+        }
+
+        public int size() {
+            return materials.length;
+        }
+
+        public Material getMaterial(int i) {
+            return materials[i];
+        }
+
+        public int getAmount(int i) {
+            return amounts[i];
+        }
+
+        /**
+         * Checks if another cost asks for the same items in the same order.
+         */
+        public boolean hasSameItems(Cost other) {
+            return Arrays.equals(materials, other.materials) && Arrays.equals(amounts, other.amounts);
+        }
+
+        /**
+         * Creates a new item stack for an entry of this cost.
+         */
+        public ItemStack createItem(int i) {
+            return new ItemStack(materials[i], amounts[i]);
+        }
+    }
+
+    private static final Cost DEFAULT_COST = new Cost(0, new Material[] {Material.DIAMOND}, new int[] {1});
+
+    private final Cost[] costs;
+
+    private ResurrectionCostPool(Cost[] costs) {
+        this.costs = costs;
+    }
+
+    /**
+     * Parses the cost pool from its config representation.
+     * Falls back to a single diamond if no valid cost is configured.
+     */
+    public static ResurrectionCostPool parse(List<Map<?, ?>> costPool) {
+        List<Cost> costs = new ArrayList<>(costPool.size());
+        for (Map<?, ?> entry : costPool) {
+            Object items = entry.get("items");
+            if (!(items instanceof List<?> itemList)) {
+                continue;
+            }
+
+            Cost cost = parseItems(costs.size(), itemList);
+            if (cost != null) {
+                costs.add(cost);
+            }
+        }
+
+        if (costs.isEmpty()) {
+            costs.add(DEFAULT_COST);
+        }
+        return new ResurrectionCostPool(costs.toArray(new Cost[0]));
+    }
+
+    /**
+     * Parses a list of {material, amount} maps into a cost.
+     * @return the cost, or null if no material is valid
+     */
+    static Cost parseItems(int index, List<?> items) {
+        List<Material> materials = new ArrayList<>(items.size());
+        List<Integer> amounts = new ArrayList<>(items.size());
+        for (Object item : items) {
+            if (!(item instanceof Map<?, ?> itemData) || !(itemData.get("material") instanceof String materialName)) {
+                continue;
+            }
+            Material material = Material.matchMaterial(materialName);
+            if (material == null) {
+                continue;
+            }
+            int amount = itemData.get("amount") instanceof Number number ? number.intValue() : 1;
+            materials.add(material);
+            amounts.add(amount);
+        }
+
+        if (materials.isEmpty()) {
+            return null;
+        }
+        return new Cost(index, materials.toArray(new Material[0]),
+                amounts.stream().mapToInt(Integer::intValue).toArray());
+    }
+
+    /**
+     * Picks a random cost.
+     */
+    public Cost random() {
+        return costs[ThreadLocalRandom.current().nextInt(costs.length)];
+    }
+
+    /**
+     * Gets a cost by index, or null if the index is out of range.
+     */
+    public Cost get(int index) {
+        return index >= 0 && index < costs.length ? costs[index] : null;
+    }
+
+    public int size() {
+        return costs.length;
+    }
+}
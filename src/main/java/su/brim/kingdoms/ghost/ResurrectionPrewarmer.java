@@ -0,0 +1,149 @@
+package su.brim.kingdoms.ghost;
+
+import su.brim.kingdoms.KingdomsAddon;
+import su.brim.kingdoms.util.DebugCategory;
+import org.bukkit.Location;
+import org.bukkit.World;
+import org.bukkit.configuration.file.FileConfiguration;
+
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Loads resurrection destination chunks ahead of time, so the resurrection
+ * teleport doesn't stall on a chunk load.
+ * Pre-warming happens shortly before a ghost's timer runs out and as soon as
+ * a living player selects the ghost's trade at an altar.
+ */
+public class ResurrectionPrewarmer {
+
+    // A ghost's pre-warmed destination chunk
+    private record Prewarm(UUID ghostUuid, UUID world, int chunkX, int chunkZ) {
+
+        static Prewarm of(UUID ghostUuid, Location location) {
+            return new Prewarm(ghostUuid, location.getWorld().getUID(),
+                    location.getBlockX() >> 4, location.getBlockZ() >> 4);
+        }
+
+        String owner() {
+            return "prewarm:" + ghostUuid + ":" + world + ":" + chunkX + ":" + chunkZ;
+        }
+    }
+
+    private final KingdomsAddon plugin;
+
+    // Destinations currently held loaded, removed when the hold ends
+    private final Set<Prewarm> prewarmed = ConcurrentHashMap.newKeySet();
+
+    // Settings
+    private volatile boolean enabled;
+    private volatile long secondsBeforeDeadline;
+    private volatile long holdTicks;
+
+    // Statistics
+    private final LongAdder requests = new LongAdder();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    public ResurrectionPrewarmer(KingdomsAddon plugin) {
+        this.plugin = plugin;
+        load();
+    }
+
+    /**
+     * Loads pre-warm settings from config.
+     */
+    public void load() {
+        FileConfiguration config = plugin.getConfig();
+        enabled = config.getBoolean("ghost-system.prewarm.enabled", true);
+        secondsBeforeDeadline = Math.max(1, config.getLong("ghost-system.prewarm.seconds-before-deadline", 15));
+        holdTicks = Math.max(20, config.getLong("ghost-system.prewarm.hold-seconds", 30) * 20L);
+    }
+
+    /**
+     * Checks if a ghost's timer is close enough to the deadline to pre-warm.
+     */
+    public boolean isNearDeadline(GhostState state) {
+        return enabled && state.getRemainingTimeMs() <= secondsBeforeDeadline * 1000L;
+    }
+
+    /**
+     * Starts loading the chunk of a ghost's resurrection destination
+     * (once per ghost and chunk while the previous hold lasts).
+     */
+    public void prewarm(UUID ghostUuid, Location destination) {
+        if (!enabled || destination == null || destination.getWorld() == null) {
+            return;
+        }
+        Prewarm prewarm = Prewarm.of(ghostUuid, destination);
+        if (!prewarmed.add(prewarm)) {
+            return;
+        }
+        requests.increment();
+
+        World world = destination.getWorld();
+        int chunkX = prewarm.chunkX();
+        int chunkZ = prewarm.chunkZ();
+
+        // Ticket keeps the chunk from unloading again before the teleport
+        plugin.getChunkWarmingService().holdTemporarily(prewarm.owner(), destination, holdTicks,
+                () -> prewarmed.remove(prewarm));
+        world.getChunkAtAsync(chunkX, chunkZ).whenComplete((chunk, error) -> {
+            if (error != null) {
+                prewarmed.remove(prewarm);
+                plugin.debug(DebugCategory.GHOST, () -> "Pre-warm failed for " + ghostUuid + ": " + error.getMessage());
+            }
+        });
+
+        plugin.debug(DebugCategory.GHOST, () -> "Pre-warming resurrection chunk " + chunkX + "," + chunkZ +
+                " for " + ghostUuid);
+    }
+
+    /**
+     * Records whether a pre-warmed destination was still loaded when the resurrection
+     * teleport started. Teleports to destinations that weren't pre-warmed are not counted.
+     * Called right before teleporting a resurrected player.
+     */
+    public void recordTeleport(UUID ghostUuid, Location destination) {
+        if (destination == null || destination.getWorld() == null) {
+            return;
+        }
+        if (!prewarmed.remove(Prewarm.of(ghostUuid, destination))) {
+            return;
+        }
+
+        if (destination.getWorld().isChunkLoaded(destination.getBlockX() >> 4, destination.getBlockZ() >> 4)) {
+            hits.increment();
+        } else {
+            misses.increment();
+        }
+    }
+
+    // === Statistics ===
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public long getRequestCount() {
+        return requests.sum();
+    }
+
+    public long getHitCount() {
+        return hits.sum();
+    }
+
+    public long getMissCount() {
+        return misses.sum();
+    }
+
+    /**
+     * Gets the share of pre-warmed resurrection teleports that found their chunk loaded (0-100).
+     */
+    public double getHitRate() {
+        long total = hits.sum() + misses.sum();
+        return total == 0 ? 0.0 : hits.sum() * 100.0 / total;
+    }
+}
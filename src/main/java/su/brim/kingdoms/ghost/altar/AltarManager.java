@@ -1,6 +1,7 @@
 package su.brim.kingdoms.ghost.altar;
 
 import su.brim.kingdoms.KingdomsAddon;
+import su.brim.kingdoms.util.DebugCategory;
 import su.brim.kingdoms.util.FoliaUtil;
 import org.bukkit.*;
 import org.bukkit.block.data.BlockData;
@@ -81,7 +82,9 @@ public class AltarManager {
             saveAltars();
         });
         
-        plugin.debug("Created altar for " + kingdomId + " at " + formatLocation(normalizedLoc));
+        plugin.getChunkWarmingService().pinAltar(altar.getAltarId(), normalizedLoc);
+        
+        plugin.debug(DebugCategory.ALTAR, () -> "Created altar for " + kingdomId + " at " + formatLocation(normalizedLoc));
         return altar;
     }
     
@@ -189,7 +192,8 @@ public class AltarManager {
         });
         
         saveAltars();
-        plugin.debug("Removed altar " + altarId);
+        plugin.getChunkWarmingService().unpinAltar(altarId);
+        plugin.debug(DebugCategory.ALTAR, () -> "Removed altar " + altarId);
         return true;
     }
     
@@ -228,7 +232,8 @@ public class AltarManager {
             saveAltars();
         });
         
-        plugin.debug("Relocated altar " + altarId + " to " + formatLocation(normalizedLoc));
+        plugin.getChunkWarmingService().pinAltar(altarId, normalizedLoc);
+        plugin.debug(DebugCategory.ALTAR, () -> "Relocated altar " + altarId + " to " + formatLocation(normalizedLoc));
         return true;
     }
     
@@ -312,7 +317,7 @@ public class AltarManager {
      * Called on server startup to re-link entities.
      */
     public void reloadAltarEntities() {
-        plugin.debug("Reloading altar entities from worlds...");
+        plugin.debug(DebugCategory.ALTAR, "Reloading altar entities from worlds...");
         
         for (World world : Bukkit.getWorlds()) {
             for (Entity entity : world.getEntities()) {
@@ -354,7 +359,7 @@ public class AltarManager {
             startAltarParticles(altar);
         }
         
-        plugin.debug("Started particles for " + altars.size() + " altars");
+        plugin.debug(DebugCategory.ALTAR, () -> "Started particles for " + altars.size() + " altars");
     }
     
     /**
@@ -385,8 +390,10 @@ public class AltarManager {
             }
         }
         
+        long saveStart = System.nanoTime();
         try {
             altarsConfig.save(altarsFile);
+            plugin.getMetrics().recordSave("altars", saveStart);
         } catch (IOException e) {
             plugin.getLogger().warning("Failed to save altars: " + e.getMessage());
         }
@@ -400,7 +407,7 @@ public class AltarManager {
             return;
         }
         
-        altarsConfig = YamlConfiguration.loadConfiguration(altarsFile);
+        altarsConfig = plugin.getDataFileLoader().load(altarsFile);
         ConfigurationSection altarsSection = altarsConfig.getConfigurationSection("altars");
         
         if (altarsSection == null) return;
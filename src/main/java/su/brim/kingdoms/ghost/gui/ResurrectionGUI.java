@@ -2,8 +2,12 @@ package su.brim.kingdoms.ghost.gui;
 
 import su.brim.kingdoms.KingdomsAddon;
 import su.brim.kingdoms.ghost.GhostState;
+import su.brim.kingdoms.ghost.ResurrectionCostPool;
+import su.brim.kingdoms.ghost.ResurrectionPrewarmer;
 import su.brim.kingdoms.ghost.altar.Altar;
 import su.brim.kingdoms.config.MessagesConfig;
+import su.brim.kingdoms.util.DebugCategory;
+import su.brim.kingdoms.util.FoliaUtil;
 import net.kyori.adventure.text.Component;
 import net.kyori.adventure.text.format.NamedTextColor;
 import net.kyori.adventure.text.format.TextDecoration;
@@ -16,6 +20,7 @@ import org.bukkit.inventory.MerchantRecipe;
 import org.bukkit.inventory.meta.ItemMeta;
 
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
 
 /**
@@ -51,6 +56,18 @@ public class ResurrectionGUI {
      * Shows ghosts to resurrect AND immortality purchase option if enabled.
      */
     public void openGUI(Player player, Altar altar) {
+        // Offline ghosts are listed too: open once their files are loaded
+        // instead of waiting for them on the region thread
+        CompletableFuture<Void> history = plugin.getGhostManager().loadHistory();
+        if (!history.isDone()) {
+            history.thenRun(() -> FoliaUtil.runOnEntity(plugin, player, () -> {
+                if (player.isOnline()) {
+                    openGUI(player, altar);
+                }
+            }));
+            return;
+        }
+        
         String kingdomId = altar.getKingdomId();
         List<GhostState> ghosts = plugin.getGhostManager().getGhostsForKingdom(kingdomId);
         
@@ -113,7 +130,7 @@ public class ResurrectionGUI {
         // Open merchant GUI
         player.openMerchant(merchant, true);
         
-        plugin.debug("Opened resurrection GUI for " + player.getName() + 
+        plugin.debug(DebugCategory.GHOST, () -> "Opened resurrection GUI for " + player.getName() + 
                     " with " + ghosts.size() + " ghosts" +
                     (immortalityEnabled ? " + immortality option" : ""));
     }
@@ -275,12 +292,9 @@ public class ResurrectionGUI {
         MerchantRecipe recipe = new MerchantRecipe(result, 0, maxUses, false, 0, 0f, 0, 0, true);
         
         // Add ingredients (resurrection cost)
-        List<ItemStack> cost = ghost.getResurrectionCost();
-        if (cost.size() >= 1) {
-            recipe.addIngredient(cost.get(0));
-        }
-        if (cost.size() >= 2) {
-            recipe.addIngredient(cost.get(1));
+        ResurrectionCostPool.Cost cost = ghost.getCost();
+        for (int i = 0; i < cost.size() && i < 2; i++) {
+            recipe.addIngredient(cost.createItem(i));
         }
         
         return recipe;
@@ -317,9 +331,10 @@ public class ResurrectionGUI {
                 .color(NamedTextColor.DARK_PURPLE)
                 .decoration(TextDecoration.ITALIC, false));
         
-        for (ItemStack costItem : ghost.getResurrectionCost()) {
-            String itemName = formatItemName(costItem.getType());
-            lore.add(Component.text("  • " + costItem.getAmount() + "x " + itemName)
+        ResurrectionCostPool.Cost cost = ghost.getCost();
+        for (int i = 0; i < cost.size(); i++) {
+            String itemName = formatItemName(cost.getMaterial(i));
+            lore.add(Component.text("  • " + cost.getAmount(i) + "x " + itemName)
                     .color(NamedTextColor.WHITE)
                     .decoration(TextDecoration.ITALIC, false));
         }
@@ -401,10 +416,50 @@ public class ResurrectionGUI {
             return false;
         }
         
-        plugin.debug("Player " + player.getName() + " purchased immortality");
+        plugin.debug(DebugCategory.GHOST, () -> "Player " + player.getName() + " purchased immortality");
         return true;
     }
     
+    /**
+     * Gets where a ghost bought back at an altar will be resurrected.
+     */
+    private org.bukkit.Location getBuybackLocation(Altar altar, GhostState ghost) {
+        String locationType = plugin.getConfig().getString("ghost-system.buyback-location", "altar");
+        
+        if (!locationType.equalsIgnoreCase("altar")) {
+            // Use safe location getter that doesn't rely on getRespawnLocation()
+            // which can fail in Folia when ghost is in different region
+            org.bukkit.Location resLoc = plugin.getGhostManager().getResurrectionLocationSafe(ghost);
+            if (resLoc != null) {
+                return resLoc;
+            }
+        }
+        
+        // Altar location (also the fallback)
+        return altar.getLocation().clone().add(0, 1, 0);
+    }
+    
+    /**
+     * Called when a player selects a trade: if it's a ghost buyback,
+     * starts loading the resurrection destination right away.
+     */
+    public void handleTradeSelect(Player player, int index) {
+        ResurrectionPrewarmer prewarmer = plugin.getResurrectionPrewarmer();
+        if (prewarmer == null || !prewarmer.isEnabled()) return;
+        
+        Map<Integer, UUID> mapping = tradeGhostMapping.get(player.getUniqueId());
+        Altar altar = playerAltarMapping.get(player.getUniqueId());
+        if (mapping == null || altar == null) return;
+        
+        UUID ghostUuid = mapping.get(index);
+        if (ghostUuid == null || ghostUuid.equals(IMMORTALITY_MARKER)) return;
+        
+        GhostState ghost = plugin.getGhostManager().getGhostState(ghostUuid);
+        if (ghost != null) {
+            prewarmer.prewarm(ghostUuid, getBuybackLocation(altar, ghost));
+        }
+    }
+    
     /**
      * Handles ghost resurrection.
      */
@@ -429,25 +484,13 @@ public class ResurrectionGUI {
         consumeItemsFromMerchant(merchantInv, cost);
         
         // Determine resurrection location
-        String locationType = plugin.getConfig().getString("ghost-system.buyback-location", "altar");
-        org.bukkit.Location resLoc;
-        
-        if (locationType.equalsIgnoreCase("altar")) {
-            resLoc = altar.getLocation().clone().add(0, 1, 0);
-        } else {
-            // Use safe location getter that doesn't rely on getRespawnLocation()
-            // which can fail in Folia when ghost is in different region
-            resLoc = plugin.getGhostManager().getResurrectionLocationSafe(ghost);
-            if (resLoc == null) {
-                // Fallback to altar location
-                resLoc = altar.getLocation().clone().add(0, 1, 0);
-            }
-        }
+        org.bukkit.Location resLoc = getBuybackLocation(altar, ghost);
         
         // Perform resurrection
         boolean success = plugin.getGhostManager().resurrect(ghostUuid, resLoc, player.getUniqueId());
         
         if (success) {
+            plugin.getMetrics().recordBuyback();
             player.sendMessage(plugin.getMessagesConfig().getComponentWithPrefix(
                     "ghost.altar.resurrected",
                     MessagesConfig.placeholder("player", ghost.getPlayerName())
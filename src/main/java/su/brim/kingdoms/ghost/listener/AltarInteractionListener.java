@@ -1,8 +1,8 @@
 package su.brim.kingdoms.ghost.listener;
 
 import su.brim.kingdoms.KingdomsAddon;
-import su.brim.kingdoms.api.KingdomsAPI;
 import su.brim.kingdoms.ghost.altar.Altar;
+import su.brim.kingdoms.util.DebugCategory;
 import io.papermc.paper.event.player.PlayerPurchaseEvent;
 import org.bukkit.entity.Interaction;
 import org.bukkit.entity.Player;
@@ -11,6 +11,7 @@ import org.bukkit.event.EventPriority;
 import org.bukkit.event.Listener;
 import org.bukkit.event.inventory.InventoryCloseEvent;
 import org.bukkit.event.inventory.InventoryType;
+import org.bukkit.event.inventory.TradeSelectEvent;
 import org.bukkit.inventory.EquipmentSlot;
 import org.bukkit.inventory.MerchantInventory;
 import org.bukkit.event.player.PlayerInteractEntityEvent;
@@ -43,12 +44,12 @@ public class AltarInteractionListener implements Listener {
         Altar altar = plugin.getAltarManager().getAltarByInteraction(interaction.getUniqueId());
         
         if (altar == null) {
-            plugin.debug("Altar not found for interaction entity " + interaction.getUniqueId());
+            plugin.debug(DebugCategory.ALTAR, () -> "Altar not found for interaction entity " + interaction.getUniqueId());
             return;
         }
         
         // Check if player is admin - admins can use all altars
-        boolean isAdmin = player.hasPermission(KingdomsAPI.ADMIN_PERMISSION);
+        boolean isAdmin = plugin.getAdminCache().isAdmin(player);
         
         // Check if player is in the same kingdom as the altar (use fallback method)
         // Admins bypass this check
@@ -71,6 +72,18 @@ public class AltarInteractionListener implements Listener {
         plugin.getResurrectionGUI().openGUI(player, altar);
     }
     
+    /**
+     * Handles trade selection in merchant GUI: pre-warms the destination of a buyback.
+     */
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onTradeSelect(TradeSelectEvent event) {
+        if (!(event.getWhoClicked() instanceof Player player)) return;
+        
+        if (plugin.getResurrectionGUI().hasOpenGUI(player.getUniqueId())) {
+            plugin.getResurrectionGUI().handleTradeSelect(player, event.getIndex());
+        }
+    }
+    
     /**
      * Handles purchase event in merchant GUI (resurrection or immortality).
      */
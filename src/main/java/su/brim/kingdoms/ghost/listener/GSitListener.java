@@ -6,6 +6,7 @@ import org.bukkit.event.EventHandler;
 import org.bukkit.event.EventPriority;
 import org.bukkit.event.Listener;
 import su.brim.kingdoms.KingdomsAddon;
+import su.brim.kingdoms.util.DebugCategory;
 
 /**
  * Prevents players from sitting on ghosts using GSit plugin.
@@ -32,7 +33,7 @@ public class GSitListener implements Listener {
         if (plugin.getGhostManager() != null && plugin.getGhostManager().isGhost(target.getUniqueId())) {
             event.setCancelled(true);
             sitter.sendMessage(plugin.getMessagesConfig().getComponentWithPrefix("ghost.cannot-sit-on-ghost"));
-            plugin.debug("Prevented " + sitter.getName() + " from sitting on ghost " + target.getName());
+            plugin.debug(DebugCategory.GHOST, () -> "Prevented " + sitter.getName() + " from sitting on ghost " + target.getName());
         }
     }
 }
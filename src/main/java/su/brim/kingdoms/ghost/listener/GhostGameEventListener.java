@@ -0,0 +1,58 @@
+package su.brim.kingdoms.ghost.listener;
+
+import su.brim.kingdoms.KingdomsAddon;
+import org.bukkit.entity.Player;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.world.GenericGameEvent;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Prevents sculk sensors from detecting ghost players.
+ * GenericGameEvent fires for every footstep, block change and vibration on the server,
+ * so this listener is only registered while at least one ghost is online
+ * (see {@link GhostListenerLifecycle}).
+ */
+public class GhostGameEventListener implements Listener {
+
+    private final KingdomsAddon plugin;
+
+    // Statistics
+    private final LongAdder suppressed = new LongAdder();
+    private final LongAdder passed = new LongAdder();
+
+    public GhostGameEventListener(KingdomsAddon plugin) {
+        this.plugin = plugin;
+    }
+
+    @EventHandler(priority = EventPriority.HIGH, ignoreCancelled = true)
+    public void onGameEvent(GenericGameEvent event) {
+        // The online ghost mark is a single set lookup, cheaper than isGhost
+        if (!(event.getEntity() instanceof Player player) || !plugin.getGhostManager().isOnlineGhost(player)) {
+            passed.increment();
+            return;
+        }
+
+        // Cancel all game events from ghosts (footsteps, etc.)
+        event.setCancelled(true);
+        suppressed.increment();
+    }
+
+    // === Statistics ===
+
+    /**
+     * Gets the number of game events cancelled because they came from a ghost.
+     */
+    public long getSuppressedCount() {
+        return suppressed.sum();
+    }
+
+    /**
+     * Gets the number of game events let through while the listener was registered.
+     */
+    public long getPassedCount() {
+        return passed.sum();
+    }
+}
@@ -149,11 +149,13 @@ public class GhostInteractionListener implements Listener {
     
     /**
      * Prevents mobs from targeting ghosts.
+     * Fires on every mob retarget (mob farms!): checks the online ghost mark,
+     * a single set lookup, instead of the saved ghost index and map.
      */
     @EventHandler(priority = EventPriority.HIGH, ignoreCancelled = true)
     public void onEntityTarget(EntityTargetLivingEntityEvent event) {
         if (!(event.getTarget() instanceof Player player)) return;
-        if (!plugin.getGhostManager().isGhost(player.getUniqueId())) return;
+        if (!plugin.getGhostManager().isOnlineGhost(player)) return;
         
         event.setCancelled(true);
     }
@@ -236,18 +238,6 @@ public class GhostInteractionListener implements Listener {
         event.setCancelled(true);
     }
     
-    /**
-     * Prevents sculk sensors from detecting ghost players.
-     */
-    @EventHandler(priority = EventPriority.HIGH, ignoreCancelled = true)
-    public void onGameEvent(org.bukkit.event.world.GenericGameEvent event) {
-        if (!(event.getEntity() instanceof Player player)) return;
-        if (!plugin.getGhostManager().isGhost(player.getUniqueId())) return;
-        
-        // Cancel all game events from ghosts (footsteps, etc.)
-        event.setCancelled(true);
-    }
-    
     /**
      * Restricts maximum flight height for ghosts.
      */
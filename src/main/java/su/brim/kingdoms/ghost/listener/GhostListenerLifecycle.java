@@ -0,0 +1,156 @@
+package su.brim.kingdoms.ghost.listener;
+
+import su.brim.kingdoms.KingdomsAddon;
+import su.brim.kingdoms.ghost.GhostManager;
+import su.brim.kingdoms.util.DebugCategory;
+import su.brim.kingdoms.util.FoliaUtil;
+import org.bukkit.Bukkit;
+import org.bukkit.entity.Player;
+import org.bukkit.event.HandlerList;
+import org.bukkit.event.Listener;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Registers listeners that only act on ghosts while at least one ghost is online
+ * and unregisters them when the last one leaves or is resurrected, so move, interact,
+ * pickup, target and game events cost nothing on a server without ghosts.
+ * <p>
+ * Registration happens right away on the thread that brings a ghost online (the ghost
+ * rules must hold from the first tick); HandlerList registration is synchronized.
+ * Unregistration is only requested and runs coalesced on the global region.
+ * Both transitions hold the same lock and re-check the ghost map under it, so a ghost
+ * coming online during an unregister check is never left without its listeners.
+ */
+public class GhostListenerLifecycle {
+
+    // Delay lets a quitting player leave the online player list before it is checked
+    private static final long UPDATE_DELAY_TICKS = 1L;
+
+    private final KingdomsAddon plugin;
+    private final List<Listener> listeners = new CopyOnWriteArrayList<>();
+
+    // Written under lock, volatile for the statistics
+    private final Object lock = new Object();
+    private volatile boolean registered;
+    private final AtomicBoolean updateScheduled = new AtomicBoolean();
+
+    // Statistics
+    private final LongAdder transitions = new LongAdder();
+
+    public GhostListenerLifecycle(KingdomsAddon plugin) {
+        this.plugin = plugin;
+    }
+
+    /**
+     * Adds a listener whose handlers are only needed while ghosts are online.
+     * Call {@link #refresh()} once all listeners are added.
+     */
+    public void add(Listener listener) {
+        listeners.add(listener);
+    }
+
+    /**
+     * Registers or unregisters the listeners right away according to the online ghosts
+     * (on startup and reload, players may already be online).
+     */
+    public void refresh() {
+        synchronized (lock) {
+            if (hasOnlineGhost()) {
+                register();
+            } else {
+                unregister();
+            }
+        }
+    }
+
+    /**
+     * Registers the listeners right away if they aren't. Call after a ghost was created
+     * or a ghost joined, on any thread.
+     */
+    public void ghostOnline() {
+        synchronized (lock) {
+            register();
+        }
+    }
+
+    /**
+     * Requests a check whether the listeners are still needed. Call when a ghost is
+     * resurrected or quits. Checks are coalesced on the global region.
+     */
+    public void requestUpdate() {
+        if (updateScheduled.compareAndSet(false, true)) {
+            FoliaUtil.runGlobalDelayed(plugin, this::update, UPDATE_DELAY_TICKS);
+        }
+    }
+
+    private void update() {
+        // Cleared before checking: a ghost change during the check schedules another check
+        updateScheduled.set(false);
+
+        synchronized (lock) {
+            if (!hasOnlineGhost()) {
+                unregister();
+            }
+        }
+    }
+
+    // Both called with the lock held
+    private void register() {
+        if (registered) {
+            return;
+        }
+        for (Listener listener : listeners) {
+            plugin.getListenerProfiler().register(listener);
+        }
+        registered = true;
+        transitions.increment();
+        plugin.debug(DebugCategory.GHOST, () -> "Ghost online, registered " + listeners.size() + " ghost listeners");
+    }
+
+    private void unregister() {
+        if (!registered) {
+            return;
+        }
+        for (Listener listener : listeners) {
+            HandlerList.unregisterAll(listener);
+        }
+        registered = false;
+        transitions.increment();
+        plugin.debug(DebugCategory.GHOST, () -> "No ghosts online, unregistered " + listeners.size() + " ghost listeners");
+    }
+
+    private boolean hasOnlineGhost() {
+        GhostManager ghostManager = plugin.getGhostManager();
+        if (ghostManager == null) {
+            return false;
+        }
+
+        for (Player player : Bukkit.getOnlinePlayers()) {
+            if (ghostManager.isGhost(player.getUniqueId())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // === Statistics ===
+
+    public boolean isRegistered() {
+        return registered;
+    }
+
+    public int getListenerCount() {
+        return listeners.size();
+    }
+
+    /**
+     * Gets the number of register/unregister transitions since startup.
+     */
+    public long getTransitionCount() {
+        return transitions.sum();
+    }
+}
@@ -1,7 +1,10 @@
 package su.brim.kingdoms.ghost.listener;
 
 import su.brim.kingdoms.KingdomsAddon;
-import su.brim.kingdoms.api.KingdomsAPI;
+import su.brim.kingdoms.ghost.GhostState;
+import su.brim.kingdoms.join.JoinContext;
+import su.brim.kingdoms.join.JoinPreload;
+import su.brim.kingdoms.util.DebugCategory;
 import su.brim.kingdoms.util.FoliaUtil;
 import org.bukkit.Location;
 import org.bukkit.entity.Player;
@@ -10,6 +13,7 @@ import org.bukkit.event.EventPriority;
 import org.bukkit.event.Listener;
 import org.bukkit.event.player.PlayerJoinEvent;
 import org.bukkit.event.player.PlayerQuitEvent;
+import org.bukkit.persistence.PersistentDataContainer;
 import org.bukkit.persistence.PersistentDataType;
 
 /**
@@ -23,46 +27,36 @@ public class GhostVisibilityListener implements Listener {
         this.plugin = plugin;
     }
     
-    @EventHandler(priority = EventPriority.MONITOR)
-    public void onPlayerJoin(PlayerJoinEvent event) {
-        // Check if ghost system is enabled
-        if (!plugin.getConfig().getBoolean("ghost-system.enabled", false)) {
+    /**
+     * Join stage: restores ghost state of a rejoining player.
+     * Runs on the player's region as part of the join pipeline.
+     */
+    public void processJoin(Player player, JoinContext context) {
+        // Admins don't become ghosts
+        if (context.isAdmin()) {
+            plugin.debug(DebugCategory.GHOST, () -> "Player " + player.getName() + " is admin, skipping ghost visibility check");
             return;
         }
         
-        Player player = event.getPlayer();
-        
-        // Admins don't become ghosts
-        if (player.hasPermission(KingdomsAPI.ADMIN_PERMISSION)) {
-            plugin.debug("Player " + player.getName() + " is admin, skipping ghost visibility check");
+        // First check if player has pending_ghost marker (quit on death screen)
+        if (checkPendingGhost(player)) {
             return;
         }
         
-        // Delay to ensure player is fully loaded
-        FoliaUtil.runDelayed(plugin, player, () -> {
-            if (!player.isOnline()) return;
-            
-            // First check if player has pending_ghost marker (quit on death screen)
-            if (checkPendingGhost(player)) {
-                return; // Player will be made ghost, visibility will be handled there
-            }
-            
-            if (plugin.getGhostManager().isGhost(player.getUniqueId())) {
-                // This player is a ghost - handle their rejoin
-                plugin.getGhostManager().handleGhostJoin(player);
-                
-                // Update team colors for ghost
-                if (plugin.getTeamColorManager() != null) {
-                    plugin.getTeamColorManager().updatePlayer(player);
-                }
-            }
-            // Living players don't need special handling - ghosts are visible via glowing effect
-        }, 20L); // 1 second delay
+        // Ghost state resolved at pre-login (falls back to a lookup)
+        JoinPreload preload = context.getPreload();
+        GhostState state = preload != null ? preload.ghost() 
+                : plugin.getGhostManager().getGhostState(player.getUniqueId());
+        if (state != null) {
+            // This player is a ghost - handle their rejoin
+            plugin.getGhostManager().handleGhostJoin(player, state);
+        }
+        // Living players don't need special handling - ghosts are visible via glowing effect
     }
     
     /**
      * Checks if player quit on death screen and should become ghost.
-     * @return true if player will be made ghost
+     * @return true if player was made ghost
      */
     private boolean checkPendingGhost(Player player) {
         var respawnHook = plugin.getRespawnHook();
@@ -75,21 +69,12 @@ public class GhostVisibilityListener implements Listener {
         
         if (pendingKingdom == null) return false;
         
-        plugin.debug("Player " + player.getName() + " has pending_ghost marker, making ghost");
+        plugin.debug(DebugCategory.GHOST, () -> "Player " + player.getName() + " has pending_ghost marker, making ghost");
         
-        // Get death location from PDC
-        String deathLocStr = player.getPersistentDataContainer().get(
-                respawnHook.getDeathLocationKey(),
-                PersistentDataType.STRING
-        );
-        Location deathLocation = respawnHook.deserializeLocation(deathLocStr);
-        
-        // Get bed spawn from PDC
-        String bedSpawnStr = player.getPersistentDataContainer().get(
-                respawnHook.getBedSpawnKey(),
-                PersistentDataType.STRING
-        );
-        Location bedSpawnLocation = respawnHook.deserializeLocation(bedSpawnStr);
+        // Get death and bed spawn locations from PDC
+        PersistentDataContainer pdc = player.getPersistentDataContainer();
+        Location deathLocation = respawnHook.readLocation(pdc, respawnHook.getDeathLocationKey());
+        Location bedSpawnLocation = respawnHook.readLocation(pdc, respawnHook.getBedSpawnKey());
         
         // Remove PDC markers
         player.getPersistentDataContainer().remove(respawnHook.getPendingGhostKey());
@@ -97,39 +82,47 @@ public class GhostVisibilityListener implements Listener {
         player.getPersistentDataContainer().remove(respawnHook.getBedSpawnKey());
         
         // Make ghost and teleport to death location
-        FoliaUtil.runDelayed(plugin, player, () -> {
-            if (player.isOnline()) {
-                plugin.getGhostManager().makeGhost(player, pendingKingdom, deathLocation, bedSpawnLocation);
-                
-                // Teleport ghost to death location
-                if (deathLocation != null && deathLocation.getWorld() != null) {
-                    FoliaUtil.teleportAsync(player, deathLocation);
-                }
-                
-                // Update team colors for ghost
-                if (plugin.getTeamColorManager() != null) {
-                    plugin.getTeamColorManager().updatePlayer(player);
-                }
-            }
-        }, 5L);
+        plugin.getGhostManager().makeGhost(player, pendingKingdom, deathLocation, bedSpawnLocation);
+        if (deathLocation != null && deathLocation.getWorld() != null) {
+            FoliaUtil.teleportAsync(player, deathLocation);
+        }
         
         return true;
     }
     
+    /**
+     * Puts the ghost rules in place as soon as a ghost joins. The rest of the
+     * rejoin handling waits for the join pipeline (join.delay-ticks), the ghost
+     * listeners and the online ghost mark must not.
+     */
+    @EventHandler(priority = EventPriority.LOWEST)
+    public void onPlayerJoin(PlayerJoinEvent event) {
+        Player player = event.getPlayer();
+        if (!plugin.getGhostManager().isGhost(player.getUniqueId())) return;
+        
+        plugin.getGhostManager().markOnline(player);
+    }
+    
     @EventHandler(priority = EventPriority.MONITOR)
     public void onPlayerQuit(PlayerQuitEvent event) {
+        Player player = event.getPlayer();
+        plugin.getGhostManager().markOffline(player.getUniqueId());
+        
         // Check if ghost system is enabled
         if (!plugin.getConfig().getBoolean("ghost-system.enabled", false)) {
             return;
         }
         
-        Player player = event.getPlayer();
-        
         // Clean up any GUI states
         if (plugin.getResurrectionGUI().hasOpenGUI(player.getUniqueId())) {
             plugin.getResurrectionGUI().handleClose(player);
         }
         
+        // The ghost listeners may no longer be needed
+        if (plugin.getGhostManager().isGhost(player.getUniqueId())) {
+            plugin.getGhostListenerLifecycle().requestUpdate();
+        }
+        
         // Ghost data is automatically persisted, no need to do anything special here
     }
 }
@@ -1,7 +1,8 @@
 package su.brim.kingdoms.ghost.listener;
 
 import su.brim.kingdoms.KingdomsAddon;
-import su.brim.kingdoms.api.KingdomsAPI;
+import su.brim.kingdoms.ghost.ImmortalityManager;
+import su.brim.kingdoms.util.DebugCategory;
 import org.bukkit.entity.Player;
 import org.bukkit.event.EventHandler;
 import org.bukkit.event.EventPriority;
@@ -25,44 +26,45 @@ public class ImmortalityListener implements Listener {
     /**
      * Intercepts damage events to check for fatal damage on players with immortality.
      * Runs at HIGHEST priority to run after other damage modifications.
+     * Checks go from cheapest to most expensive: almost every damage event is rejected
+     * by the empty-map check, getFinalDamage (recomputes all modifiers) runs last.
      */
     @EventHandler(priority = EventPriority.HIGHEST, ignoreCancelled = true)
     public void onEntityDamage(EntityDamageEvent event) {
+        ImmortalityManager immortalityManager = plugin.getImmortalityManager();
+        
+        // Check if immortality system is enabled and anyone has immortality at all
+        if (immortalityManager == null || !immortalityManager.isEnabled() || !immortalityManager.isAnyActive()) {
+            return;
+        }
+        
         if (!(event.getEntity() instanceof Player player)) {
             return;
         }
         
-        // Check if immortality system is enabled
-        if (plugin.getImmortalityManager() == null || !plugin.getImmortalityManager().isEnabled()) {
+        // Check this player's immortality
+        if (!immortalityManager.hasImmortality(player.getUniqueId())) {
             return;
         }
         
         // Admins don't use immortality (they don't become ghosts either)
-        if (player.hasPermission(KingdomsAPI.ADMIN_PERMISSION)) {
+        if (plugin.getAdminCache().isAdmin(player)) {
             return;
         }
         
         // Check if this damage would be fatal
-        double finalDamage = event.getFinalDamage();
-        double currentHealth = player.getHealth();
-        
-        if (currentHealth - finalDamage > 0) {
+        if (player.getHealth() - event.getFinalDamage() > 0) {
             // Not fatal damage
             return;
         }
         
-        // Player would die - check for immortality
-        if (!plugin.getImmortalityManager().hasImmortality(player.getUniqueId())) {
-            return;
-        }
-        
         // Trigger immortality effect
-        boolean triggered = plugin.getImmortalityManager().triggerImmortality(player);
+        boolean triggered = immortalityManager.triggerImmortality(player);
         
         if (triggered) {
             // Cancel the fatal damage
             event.setCancelled(true);
-            plugin.debug("Immortality saved " + player.getName() + " from " + event.getCause());
+            plugin.debug(DebugCategory.GHOST, () -> "Immortality saved " + player.getName() + " from " + event.getCause());
         }
     }
     
@@ -80,7 +82,7 @@ public class ImmortalityListener implements Listener {
         // Log for debugging
         if (plugin.getImmortalityManager() != null && 
             plugin.getImmortalityManager().hasImmortality(player.getUniqueId())) {
-            plugin.debug("EntityResurrectEvent for " + player.getName() + 
+            plugin.debug(DebugCategory.GHOST, () -> "EntityResurrectEvent for " + player.getName() + 
                         " - cancelled: " + event.isCancelled() + 
                         " (has our immortality)");
         }
@@ -0,0 +1,45 @@
+package su.brim.kingdoms.join;
+
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * State shared between the stages of a single player's join.
+ */
+public class JoinContext {
+    
+    private final boolean admin;
+    private final JoinPreload preload;
+    private boolean aborted = false;
+    
+    JoinContext(boolean admin, @Nullable JoinPreload preload) {
+        this.admin = admin;
+        this.preload = preload;
+    }
+    
+    /**
+     * Checks if the player has admin bypass (resolved once per join).
+     */
+    public boolean isAdmin() {
+        return admin;
+    }
+    
+    /**
+     * Gets the state resolved at pre-login, or null if it's not available
+     * (e.g. plugin reloaded while the player was connecting). Stages then look it up themselves.
+     */
+    @Nullable
+    public JoinPreload getPreload() {
+        return preload;
+    }
+    
+    /**
+     * Stops the pipeline after the current stage (e.g. when the player is kicked).
+     */
+    public void abort() {
+        this.aborted = true;
+    }
+    
+    public boolean isAborted() {
+        return aborted;
+    }
+}
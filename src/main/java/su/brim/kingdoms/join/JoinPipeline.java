@@ -0,0 +1,97 @@
+package su.brim.kingdoms.join;
+
+import su.brim.kingdoms.KingdomsAddon;
+import su.brim.kingdoms.util.DebugCategory;
+import su.brim.kingdoms.util.FoliaUtil;
+import org.bukkit.entity.Player;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.logging.Level;
+
+/**
+ * Ordered pipeline of join stages.
+ * Each join schedules exactly one entity task that runs all registered stages
+ * in order, instead of every subsystem scheduling its own delayed tasks.
+ */
+public class JoinPipeline {
+    
+    // Stage orders used by the plugin itself (gaps leave room for new stages)
+    public static final int ORDER_KINGDOM = 100;
+    public static final int ORDER_GHOST = 200;
+    public static final int ORDER_IMMORTALITY = 300;
+    public static final int ORDER_TEAM_COLOR = 900;
+    
+    private record RegisteredStage(String name, int order, JoinStage stage) {}
+    
+    private final KingdomsAddon plugin;
+    
+    // Copy-on-write: joins read the array without locking, registration is rare
+    private volatile RegisteredStage[] stages = new RegisteredStage[0];
+    
+    public JoinPipeline(KingdomsAddon plugin) {
+        this.plugin = plugin;
+    }
+    
+    /**
+     * Registers a stage. Stages with a lower order run first.
+     * A stage registered with an existing name replaces the old one.
+     */
+    public synchronized void register(String name, int order, JoinStage stage) {
+        List<RegisteredStage> list = new ArrayList<>(List.of(stages));
+        list.removeIf(s -> s.name().equals(name));
+        list.add(new RegisteredStage(name, order, stage));
+        list.sort(Comparator.comparingInt(RegisteredStage::order));
+        stages = list.toArray(new RegisteredStage[0]);
+    }
+    
+    /**
+     * Unregisters a stage by name.
+     */
+    public synchronized void unregister(String name) {
+        List<RegisteredStage> list = new ArrayList<>(List.of(stages));
+        if (list.removeIf(s -> s.name().equals(name))) {
+            stages = list.toArray(new RegisteredStage[0]);
+        }
+    }
+    
+    /**
+     * Schedules the pipeline for a joining player.
+     * Delay allows other plugins to finish their join processing.
+     */
+    public void schedule(Player player) {
+        long delay = Math.max(1, plugin.getConfigManager().getJoinDelayTicks());
+        FoliaUtil.runDelayed(plugin, player, () -> {
+            if (player.isOnline()) {
+                run(player);
+            }
+        }, delay);
+    }
+    
+    /**
+     * Runs all stages for a player. Must be called on the player's region thread.
+     */
+    public void run(Player player) {
+        long start = System.nanoTime();
+        JoinContext context = new JoinContext(plugin.getAdminCache().isAdmin(player),
+                plugin.getPreloadCache().take(player.getUniqueId()));
+        
+        for (RegisteredStage registered : stages) {
+            try {
+                registered.stage().process(player, context);
+            } catch (Exception e) {
+                plugin.getLogger().log(Level.WARNING, "Join stage '" + registered.name() + 
+                        "' failed for " + player.getName(), e);
+            }
+            
+            if (context.isAborted()) {
+                plugin.debug(DebugCategory.JOIN, () -> "Join pipeline for " + player.getName() + 
+                        " aborted by stage " + registered.name());
+                break;
+            }
+        }
+        
+        plugin.getMetrics().recordJoin(start);
+    }
+}
@@ -0,0 +1,33 @@
+package su.brim.kingdoms.join;
+
+import su.brim.kingdoms.ghost.GhostState;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Player state resolved on the async pre-login thread, so the join stages
+ * only have to apply it.
+ *
+ * @param assignedKingdom Kingdom the player is already assigned to (nullable)
+ * @param whitelistKingdom Kingdom from the whitelist, used for new assignments (nullable)
+ * @param joinedBefore Whether the player has joined before (first-join teleport)
+ * @param ghost Ghost state of the player (nullable)
+ * @param immortalityRemainingMs Remaining immortality time, 0 if none
+ * @param resolvedAt Resolution time, used to expire unused entries
+ */
+public record JoinPreload(
+        @Nullable String assignedKingdom,
+        @Nullable String whitelistKingdom,
+        boolean joinedBefore,
+        @Nullable GhostState ghost,
+        long immortalityRemainingMs,
+        long resolvedAt
+) {
+    
+    /**
+     * Gets the kingdom the player will end up in, or null if they are not whitelisted.
+     */
+    @Nullable
+    public String kingdomId() {
+        return assignedKingdom != null ? assignedKingdom : whitelistKingdom;
+    }
+}
@@ -0,0 +1,20 @@
+package su.brim.kingdoms.join;
+
+import org.bukkit.entity.Player;
+
+/**
+ * A single step of the join pipeline.
+ * Stages always run on the joining player's region thread, so they may
+ * touch the player directly without scheduling anything.
+ */
+@FunctionalInterface
+public interface JoinStage {
+    
+    /**
+     * Processes the joining player.
+     * 
+     * @param player The player (online, owned by the current region)
+     * @param context Shared state of this join; call {@link JoinContext#abort()} to skip later stages
+     */
+    void process(Player player, JoinContext context);
+}
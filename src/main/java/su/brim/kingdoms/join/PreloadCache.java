@@ -0,0 +1,102 @@
+package su.brim.kingdoms.join;
+
+import su.brim.kingdoms.KingdomsAddon;
+import su.brim.kingdoms.ghost.GhostManager;
+import su.brim.kingdoms.ghost.ImmortalityManager;
+import su.brim.kingdoms.manager.KingdomManager;
+import su.brim.kingdoms.util.DebugCategory;
+import su.brim.kingdoms.util.FoliaUtil;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Per-UUID cache of join state resolved during AsyncPlayerPreLoginEvent.
+ * The join pipeline takes the entry when the player's stages run; entries of
+ * logins that never completed expire after a minute.
+ */
+public class PreloadCache {
+    
+    private static final long EXPIRE_MS = 60_000L;
+    private static final long SWEEP_TICKS = 20L * 60;
+    
+    private final KingdomsAddon plugin;
+    private final Map<UUID, JoinPreload> entries = new ConcurrentHashMap<>();
+    
+    // Statistics
+    private final LongAdder resolved = new LongAdder();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    
+    public PreloadCache(KingdomsAddon plugin) {
+        this.plugin = plugin;
+        FoliaUtil.runAsyncRepeating(plugin, this::sweep, SWEEP_TICKS, SWEEP_TICKS);
+    }
+    
+    /**
+     * Resolves and caches the join state of a player. Called on the async login thread.
+     */
+    public void resolve(String name, UUID uuid) {
+        KingdomManager kingdomManager = plugin.getKingdomManager();
+        String assigned = kingdomManager.getAssignedKingdom(uuid);
+        String whitelisted = assigned == null ? kingdomManager.findKingdomInWhitelist(name) : null;
+        
+        // Parses the player's ghost file here on first access, so the region thread never reads it
+        GhostManager ghostManager = plugin.getGhostManager();
+        ImmortalityManager immortalityManager = plugin.getImmortalityManager();
+        
+        JoinPreload preload = new JoinPreload(
+                assigned,
+                whitelisted,
+                plugin.getPlayerDataManager().hasJoinedBefore(uuid),
+                ghostManager != null ? ghostManager.getGhostState(uuid) : null,
+                immortalityManager != null ? immortalityManager.getRemainingTime(uuid) : 0L,
+                System.currentTimeMillis()
+        );
+        entries.put(uuid, preload);
+        resolved.increment();
+        
+        plugin.debug(DebugCategory.JOIN, () -> "Preloaded " + name + ": kingdom=" + preload.kingdomId() +
+                ", ghost=" + (preload.ghost() != null) + ", joinedBefore=" + preload.joinedBefore());
+    }
+    
+    /**
+     * Takes the cached state of a player, or null if there is none (e.g. after a reload).
+     */
+    @Nullable
+    public JoinPreload take(UUID uuid) {
+        JoinPreload preload = entries.remove(uuid);
+        if (preload == null || System.currentTimeMillis() - preload.resolvedAt() > EXPIRE_MS) {
+            misses.increment();
+            return null;
+        }
+        hits.increment();
+        return preload;
+    }
+    
+    private void sweep() {
+        long now = System.currentTimeMillis();
+        entries.values().removeIf(preload -> now - preload.resolvedAt() > EXPIRE_MS);
+    }
+    
+    // === Statistics ===
+    
+    public int getSize() {
+        return entries.size();
+    }
+    
+    public long getResolvedCount() {
+        return resolved.sum();
+    }
+    
+    public long getHitCount() {
+        return hits.sum();
+    }
+    
+    public long getMissCount() {
+        return misses.sum();
+    }
+}
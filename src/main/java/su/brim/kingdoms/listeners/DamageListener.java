@@ -1,7 +1,11 @@
 package su.brim.kingdoms.listeners;
 
 import su.brim.kingdoms.KingdomsAddon;
-import su.brim.kingdoms.api.KingdomsAPI;
+import su.brim.kingdoms.config.ConfigManager;
+import su.brim.kingdoms.log.EventLog;
+import su.brim.kingdoms.manager.AdminCache;
+import su.brim.kingdoms.manager.KingdomManager;
+import su.brim.kingdoms.util.DebugCategory;
 import org.bukkit.entity.Entity;
 import org.bukkit.entity.Player;
 import org.bukkit.entity.Projectile;
@@ -40,39 +44,45 @@ public class DamageListener implements Listener {
         }
         
         // Admins deal and receive full damage (not affected by kingdom modifiers)
-        boolean attackerIsAdmin = attacker.hasPermission(KingdomsAPI.ADMIN_PERMISSION);
-        boolean victimIsAdmin = victim.hasPermission(KingdomsAPI.ADMIN_PERMISSION);
-        
-        if (attackerIsAdmin || victimIsAdmin) {
-            plugin.debug("Admin involved in damage: " + attacker.getName() + " -> " + victim.getName() + " (no modifier)");
+        AdminCache adminCache = plugin.getAdminCache();
+        if (adminCache.isAdmin(attacker) || adminCache.isAdmin(victim)) {
+            if (plugin.isDebugEnabled(DebugCategory.DAMAGE)) {
+                plugin.debug(DebugCategory.DAMAGE, "Admin involved in damage: " + attacker.getName() + " -> " + victim.getName() + " (no modifier)");
+            }
             return;
         }
         
-        // Get kingdom information
-        boolean attackerHasKingdom = plugin.getKingdomManager().hasKingdom(attacker.getUniqueId());
-        boolean victimHasKingdom = plugin.getKingdomManager().hasKingdom(victim.getUniqueId());
+        // Resolve each participant's kingdom exactly once
+        KingdomManager kingdomManager = plugin.getKingdomManager();
+        String attackerKingdom = kingdomManager.getPlayerKingdomId(attacker);
+        String victimKingdom = kingdomManager.getPlayerKingdomId(victim);
+        
+        ConfigManager config = plugin.getConfigManager();
         
         // Handle teamless damage
-        if (!attackerHasKingdom || !victimHasKingdom) {
-            if (plugin.getConfigManager().isBlockTeamlessDamage()) {
+        if (attackerKingdom == null || victimKingdom == null) {
+            plugin.getMetrics().recordDamage("teamless");
+            if (config.isBlockTeamlessDamage()) {
                 event.setCancelled(true);
-                plugin.debug("Blocked teamless damage: " + attacker.getName() + " -> " + victim.getName());
+                if (plugin.isDebugEnabled(DebugCategory.DAMAGE)) {
+                    plugin.debug(DebugCategory.DAMAGE, "Blocked teamless damage: " + attacker.getName() + " -> " + victim.getName());
+                }
+                EventLog eventLog = plugin.getEventLog();
+                if (eventLog.sample(EventLog.Type.DAMAGE)) {
+                    eventLog.record(EventLog.Type.DAMAGE, "blocked-teamless", attacker.getName(),
+                            victim.getLocation(), victim.getName());
+                }
             }
             return;
         }
         
-        // Check if allies
-        boolean allies = plugin.getKingdomManager().areAllies(attacker.getUniqueId(), victim.getUniqueId());
+        // Check if allies and apply damage multiplier
+        boolean allies = attackerKingdom.equals(victimKingdom);
+        plugin.getMetrics().recordDamage(allies ? "ally" : "enemy");
+        double multiplier = allies ? config.getAllyDamageMultiplier() : config.getEnemyDamageMultiplier();
         
-        // Apply damage multiplier
-        double multiplier;
-        if (allies) {
-            multiplier = plugin.getConfigManager().getAllyDamageMultiplier();
-            plugin.debug("Ally damage: " + attacker.getName() + " -> " + victim.getName() + 
-                        " (x" + multiplier + ")");
-        } else {
-            multiplier = plugin.getConfigManager().getEnemyDamageMultiplier();
-            plugin.debug("Enemy damage: " + attacker.getName() + " -> " + victim.getName() + 
+        if (plugin.isDebugEnabled(DebugCategory.DAMAGE)) {
+            plugin.debug(DebugCategory.DAMAGE, (allies ? "Ally" : "Enemy") + " damage: " + attacker.getName() + " -> " + victim.getName() + 
                         " (x" + multiplier + ")");
         }
         
@@ -83,9 +93,13 @@ public class DamageListener implements Listener {
         }
         
         // Apply multiplier to damage
-        double originalDamage = event.getDamage();
-        double newDamage = originalDamage * multiplier;
-        event.setDamage(newDamage);
+        event.setDamage(event.getDamage() * multiplier);
+        
+        EventLog eventLog = plugin.getEventLog();
+        if (eventLog.sample(EventLog.Type.DAMAGE)) {
+            eventLog.record(EventLog.Type.DAMAGE, allies ? "ally" : "enemy", attacker.getName(),
+                    victim.getLocation(), victim.getName() + " x" + multiplier);
+        }
     }
     
     /**
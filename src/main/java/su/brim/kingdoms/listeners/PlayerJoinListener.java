@@ -1,21 +1,21 @@
 package su.brim.kingdoms.listeners;
 
 import su.brim.kingdoms.KingdomsAddon;
-import su.brim.kingdoms.api.KingdomsAPI;
-import su.brim.kingdoms.config.MessagesConfig;
-import su.brim.kingdoms.util.FoliaUtil;
+import su.brim.kingdoms.join.JoinContext;
+import su.brim.kingdoms.manager.AdmissionFilter;
+import su.brim.kingdoms.util.DebugCategory;
 import net.kyori.adventure.text.Component;
 import net.kyori.adventure.text.serializer.legacy.LegacyComponentSerializer;
 import org.bukkit.entity.Player;
 import org.bukkit.event.EventHandler;
 import org.bukkit.event.EventPriority;
 import org.bukkit.event.Listener;
+import org.bukkit.event.player.AsyncPlayerPreLoginEvent;
+import org.bukkit.event.player.PlayerCommandSendEvent;
 import org.bukkit.event.player.PlayerJoinEvent;
 import org.bukkit.event.player.PlayerQuitEvent;
 
-import java.util.Map;
 import java.util.UUID;
-import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Handles player join events.
@@ -28,58 +28,96 @@ public class PlayerJoinListener implements Listener {
         this.plugin = plugin;
     }
     
+    /**
+     * Rejects players that are in no kingdom whitelist before they join the world.
+     * Runs on the async login thread, so rejected connections never cost region work.
+     */
+    @EventHandler(priority = EventPriority.LOW)
+    public void onPreLogin(AsyncPlayerPreLoginEvent event) {
+        AdmissionFilter filter = plugin.getAdmissionFilter();
+        if (!filter.isEnabled() || event.getLoginResult() != AsyncPlayerPreLoginEvent.Result.ALLOWED) {
+            return;
+        }
+        
+        if (!filter.isAdmitted(event.getName(), event.getUniqueId())) {
+            plugin.debug(DebugCategory.JOIN, () -> "Rejected " + event.getName() + " before login: not whitelisted");
+            event.disallow(AsyncPlayerPreLoginEvent.Result.KICK_WHITELIST, getNotWhitelistedMessage());
+        }
+    }
+    
+    /**
+     * Resolves the kingdom, ghost and first-join state of an admitted player
+     * on the async login thread, so the join stages only apply it.
+     */
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onPreLoginResolve(AsyncPlayerPreLoginEvent event) {
+        if (event.getLoginResult() == AsyncPlayerPreLoginEvent.Result.ALLOWED) {
+            plugin.getPreloadCache().resolve(event.getName(), event.getUniqueId());
+        }
+    }
+    
+    /**
+     * Caches admin status as early as possible so damage handling never
+     * has to query the permission provider.
+     */
+    @EventHandler(priority = EventPriority.LOWEST)
+    public void onPlayerJoinCacheAdmin(PlayerJoinEvent event) {
+        plugin.getAdminCache().refresh(event.getPlayer());
+    }
+    
+    /**
+     * The command tree is resent whenever a player's permissions are recalculated
+     * (op/deop, permission plugin updates), so use it to refresh cached admin status.
+     */
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onPermissionsRecalculated(PlayerCommandSendEvent event) {
+        plugin.getAdminCache().refresh(event.getPlayer());
+    }
+    
     @EventHandler(priority = EventPriority.MONITOR)
     public void onPlayerJoin(PlayerJoinEvent event) {
         Player player = event.getPlayer();
-        UUID uuid = player.getUniqueId();
         
-        plugin.debug("PlayerJoinEvent: " + player.getName());
-
-        // (allows other plugins to finish their join processing)
-        FoliaUtil.runDelayed(plugin, player, () -> {
-            if (player.isOnline()) {
-                processPlayer(player);
-            }
-        }, 5L);
+        plugin.debug(DebugCategory.JOIN, () -> "PlayerJoinEvent: " + player.getName());
+        
+        // All join processing (kingdom, ghost, immortality, team colors) runs in one task
+        plugin.getJoinPipeline().schedule(player);
     }
     
     @EventHandler
     public void onPlayerQuit(PlayerQuitEvent event) {
         UUID uuid = event.getPlayer().getUniqueId();
         plugin.getKingdomManager().unmarkProcessed(uuid);
+        plugin.getAdminCache().invalidate(uuid);
+        plugin.getPlaceholderCache().invalidate(uuid);
+        if (plugin.getTeamColorManager() != null) {
+            plugin.getTeamColorManager().forgetPlayer(uuid);
+        }
     }
     
     /**
-     * Processes a player - checks their kingdom assignment and handles accordingly.
+     * Join stage: checks the player's kingdom assignment and handles accordingly.
+     * Aborts the pipeline if the player is not whitelisted.
      */
-    public void processPlayer(Player player) {
+    public void processPlayer(Player player, JoinContext context) {
         if (plugin.getKingdomManager().isProcessed(player.getUniqueId())) {
-            plugin.debug("Player " + player.getName() + " already processed, skipping");
+            plugin.debug(DebugCategory.JOIN, () -> "Player " + player.getName() + " already processed, skipping");
             return;
         }
         
         // Check if player is an admin - admins bypass kingdom assignment
-        if (player.hasPermission(KingdomsAPI.ADMIN_PERMISSION)) {
-            plugin.debug("Player " + player.getName() + " is admin, bypassing kingdom check");
+        if (context.isAdmin()) {
+            plugin.debug(DebugCategory.JOIN, () -> "Player " + player.getName() + " is admin, bypassing kingdom check");
             plugin.getKingdomManager().markProcessed(player.getUniqueId());
-            
-            // Update team colors for admin
-            if (plugin.getTeamColorManager() != null) {
-                plugin.getTeamColorManager().updatePlayer(player);
-            }
             return;
         }
         
-        boolean success = plugin.getKingdomManager().processPlayerJoin(player);
+        boolean success = plugin.getKingdomManager().processPlayerJoin(player, context.getPreload());
         
         if (!success) {
             // Player not whitelisted - kick them
             kickPlayerNotWhitelisted(player);
-        } else {
-            // Update team colors for kingdom member
-            if (plugin.getTeamColorManager() != null) {
-                plugin.getTeamColorManager().updatePlayer(player);
-            }
+            context.abort();
         }
     }
     
@@ -87,12 +125,12 @@ public class PlayerJoinListener implements Listener {
      * Kicks a player with the "not whitelisted" message.
      */
     private void kickPlayerNotWhitelisted(Player player) {
+        // Join stages already run on the entity's region
+        player.kick(getNotWhitelistedMessage());
+    }
+    
+    private Component getNotWhitelistedMessage() {
         String kickMessage = plugin.getMessagesConfig().getMessage("kick.not-whitelisted");
-        Component kickComponent = LegacyComponentSerializer.legacyAmpersand().deserialize(kickMessage);
-        
-        // Kick must be done on the entity's region
-        FoliaUtil.runOnEntity(plugin, player, () -> {
-            player.kick(kickComponent);
-        });
+        return LegacyComponentSerializer.legacyAmpersand().deserialize(kickMessage);
     }
 }
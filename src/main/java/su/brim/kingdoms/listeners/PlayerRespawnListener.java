@@ -1,6 +1,8 @@
 package su.brim.kingdoms.listeners;
 
 import su.brim.kingdoms.KingdomsAddon;
+import su.brim.kingdoms.log.EventLog;
+import su.brim.kingdoms.util.DebugCategory;
 import su.brim.kingdoms.util.FoliaUtil;
 import org.bukkit.Location;
 import org.bukkit.entity.Player;
@@ -26,54 +28,57 @@ public class PlayerRespawnListener implements Listener {
         try {
             Player player = event.getPlayer();
             
-            plugin.getLogger().info("[RESPAWN] PlayerRespawnEvent fired for " + player.getName());
-            plugin.debug("=== PlayerRespawnEvent for " + player.getName() + " ===");
-            plugin.debug("isBedSpawn: " + event.isBedSpawn());
-            plugin.debug("isAnchorSpawn: " + event.isAnchorSpawn());
-            plugin.debug("Current respawn location: " + formatLoc(event.getRespawnLocation()));
+            plugin.debug(DebugCategory.RESPAWN, () -> "=== PlayerRespawnEvent for " + player.getName() + " ===");
+            plugin.debug(DebugCategory.RESPAWN, () -> "isBedSpawn: " + event.isBedSpawn());
+            plugin.debug(DebugCategory.RESPAWN, () -> "isAnchorSpawn: " + event.isAnchorSpawn());
+            plugin.debug(DebugCategory.RESPAWN, () -> "Current respawn location: " + formatLoc(event.getRespawnLocation()));
             
             // Check if this feature is enabled
             if (!plugin.getConfigManager().isTeleportOnDeathNoRespawn()) {
-                plugin.debug("Respawn teleport DISABLED in config");
+                plugin.debug(DebugCategory.RESPAWN, "Respawn teleport DISABLED in config");
                 return;
             }
             
             // Check if player is respawning at anchor or bed
             if (event.isAnchorSpawn() || event.isBedSpawn()) {
-                plugin.debug("Player has bed/anchor spawn, not overriding");
+                plugin.debug(DebugCategory.RESPAWN, "Player has bed/anchor spawn, not overriding");
                 return;
             }
             
             // Get player's kingdom
             String kingdomId = plugin.getKingdomManager().getPlayerKingdomId(player.getUniqueId());
-            plugin.debug("Player kingdom: " + kingdomId);
+            plugin.debug(DebugCategory.RESPAWN, () -> "Player kingdom: " + kingdomId);
             
             if (kingdomId == null) {
-                plugin.debug("Player has no kingdom, not modifying respawn");
+                plugin.debug(DebugCategory.RESPAWN, "Player has no kingdom, not modifying respawn");
                 return;
             }
             
             // Get kingdom spawn
             Location spawn = plugin.getSpawnManager().getSpawn(kingdomId);
-            plugin.debug("Kingdom spawn for " + kingdomId + ": " + formatLoc(spawn));
+            plugin.debug(DebugCategory.RESPAWN, () -> "Kingdom spawn for " + kingdomId + ": " + formatLoc(spawn));
             
             if (spawn == null) {
-                plugin.debug("No spawn set for " + kingdomId + ", using default respawn");
+                plugin.debug(DebugCategory.RESPAWN, () -> "No spawn set for " + kingdomId + ", using default respawn");
                 plugin.getLogger().warning("No spawn set for kingdom " + kingdomId + "! Use /kingdoms setspawn " + kingdomId);
                 return;
             }
             
             // Validate spawn location
             if (spawn.getWorld() == null) {
-                plugin.debug("Spawn world is null!");
+                plugin.debug(DebugCategory.RESPAWN, "Spawn world is null!");
                 plugin.getLogger().warning("Spawn world is null for " + kingdomId);
                 return;
             }
             
-            // Set the respawn location
-            plugin.getLogger().info("[RESPAWN] Setting respawn for " + player.getName() + " to " + formatLoc(spawn));
-            event.setRespawnLocation(spawn);
-            plugin.debug("Respawn location AFTER set: " + formatLoc(event.getRespawnLocation()));
+            // Set the respawn location (spread around the spawn to avoid players stacking up)
+            Location respawnPoint = plugin.getSpawnTeleportQueue().getSpawnPoint(kingdomId);
+            event.setRespawnLocation(respawnPoint != null ? respawnPoint : spawn);
+            EventLog eventLog = plugin.getEventLog();
+            if (eventLog.sample(EventLog.Type.RESPAWN)) {
+                eventLog.record(EventLog.Type.RESPAWN, "kingdom-spawn", player.getName(), spawn, kingdomId);
+            }
+            plugin.debug(DebugCategory.RESPAWN, () -> "Respawn location AFTER set: " + formatLoc(event.getRespawnLocation()));
             
             // Send message after respawn (delayed to ensure player has respawned)
             FoliaUtil.runDelayed(plugin, player, () -> {
@@ -88,15 +93,6 @@ public class PlayerRespawnListener implements Listener {
         }
     }
     
-    /**
-     * Monitor listener to verify event is being fired at all.
-     */
-    @EventHandler(priority = EventPriority.MONITOR)
-    public void onPlayerRespawnMonitor(PlayerRespawnEvent event) {
-        plugin.getLogger().info("[RESPAWN-MONITOR] Final respawn location for " + event.getPlayer().getName() + 
-                ": " + formatLoc(event.getRespawnLocation()));
-    }
-    
     private String formatLoc(Location loc) {
         if (loc == null) return "null";
         if (loc.getWorld() == null) return "world=null";
@@ -1,25 +1,38 @@
 package su.brim.kingdoms.listeners;
 
 import su.brim.kingdoms.KingdomsAddon;
-import su.brim.kingdoms.api.KingdomsAPI;
+import su.brim.kingdoms.log.EventLog;
+import su.brim.kingdoms.util.DebugCategory;
 import su.brim.kingdoms.util.FoliaUtil;
+import su.brim.kingdoms.util.LocationDataType;
+import com.destroystokyo.paper.event.player.PlayerPostRespawnEvent;
 import io.papermc.paper.threadedregions.scheduler.ScheduledTask;
 import org.bukkit.Location;
 import org.bukkit.NamespacedKey;
 import org.bukkit.entity.Player;
 import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
 import org.bukkit.event.Listener;
 import org.bukkit.event.entity.PlayerDeathEvent;
+import org.bukkit.event.player.PlayerQuitEvent;
+import org.bukkit.persistence.PersistentDataContainer;
 import org.bukkit.persistence.PersistentDataType;
 
 import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
 import java.util.concurrent.ConcurrentHashMap;
 
 public final class RespawnHook implements Listener {
 
+    // Death screen can be left open for a long time, but not forever
+    private static final long PENDING_TIMEOUT_TICKS = 20L * 60 * 10;
+
     private final KingdomsAddon plugin;
-    private final Map<UUID, ScheduledTask> waiting = new ConcurrentHashMap<>();
+    // Players waiting to respawn -> timeout task
+    private final Map<UUID, ScheduledTask> pending = new ConcurrentHashMap<>();
+    // Deaths handled on respawn; kept after the timeout, cleared on respawn or quit
+    private final Set<UUID> tracked = ConcurrentHashMap.newKeySet();
     private final Map<UUID, Location> deathLocations = new ConcurrentHashMap<>();
     private final Map<UUID, Location> bedSpawnLocations = new ConcurrentHashMap<>();
     private final NamespacedKey pendingGhostKey;
@@ -59,13 +72,13 @@ public final class RespawnHook implements Listener {
         Player player = event.getEntity();
         UUID uuid = player.getUniqueId();
 
-        if (waiting.containsKey(uuid)) {
+        if (pending.containsKey(uuid)) {
             return;
         }
         
         // Admins don't become ghosts
-        if (player.hasPermission(KingdomsAPI.ADMIN_PERMISSION)) {
-            plugin.debug("Player " + player.getName() + " is admin, skipping ghost system");
+        if (plugin.getAdminCache().isAdmin(player)) {
+            plugin.debug(DebugCategory.RESPAWN, () -> "Player " + player.getName() + " is admin, skipping ghost system");
             return;
         }
 
@@ -105,145 +118,149 @@ public final class RespawnHook implements Listener {
             );
             
             // Save death location to PDC (for case when player quits on death screen)
-            String locString = serializeLocation(deathLocation);
             player.getPersistentDataContainer().set(
                     deathLocationKey,
-                    PersistentDataType.STRING,
-                    locString
+                    LocationDataType.INSTANCE,
+                    deathLocation
             );
             
             // Save bed spawn to PDC
-            if (bedSpawn != null) {
-                String bedSpawnString = serializeLocation(bedSpawn);
+            if (bedSpawn != null && bedSpawn.getWorld() != null) {
                 player.getPersistentDataContainer().set(
                         bedSpawnKey,
-                        PersistentDataType.STRING,
-                        bedSpawnString
+                        LocationDataType.INSTANCE,
+                        bedSpawn
                 );
             }
             
-            plugin.debug("Player " + player.getName() + " marked to become ghost at " + 
+            plugin.debug(DebugCategory.RESPAWN, () -> "Player " + player.getName() + " marked to become ghost at " + 
                     deathLocation.getWorld().getName() + " " + 
                     String.format("%.1f, %.1f, %.1f", deathLocation.getX(), deathLocation.getY(), deathLocation.getZ()));
+            
+            EventLog eventLog = plugin.getEventLog();
+            if (eventLog.sample(EventLog.Type.RESPAWN)) {
+                eventLog.record(EventLog.Type.RESPAWN, "death", player.getName(), deathLocation, kingdomId);
+            }
         }
 
-        ScheduledTask task = player.getScheduler().runAtFixedRate(
+        // The rest happens in onPostRespawn. The timeout only frees memory if the player
+        // stays on the death screen for too long - PDC markers are kept for the rejoin path
+        tracked.add(uuid);
+        ScheduledTask timeout = player.getScheduler().runDelayed(
                 plugin,
                 scheduledTask -> {
+                    plugin.debug(DebugCategory.RESPAWN, () -> "Respawn continuation for " + player.getName() + " timed out");
+                    cleanup(uuid);
+                },
+                () -> cleanup(uuid),
+                PENDING_TIMEOUT_TICKS
+        );
 
-                    if (!player.isOnline()) {
-                        cleanup(uuid, scheduledTask);
-                        return;
-                    }
+        if (timeout != null) {
+            pending.put(uuid, timeout);
+        } else {
+            cleanup(uuid);
+        }
+    }
 
-                    if (player.isDead()) {
-                        return; // ждём реального респавна
-                    }
+    /**
+     * Continues death handling once the player has actually respawned.
+     */
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onPostRespawn(PlayerPostRespawnEvent event) {
+        Player player = event.getPlayer();
+        UUID uuid = player.getUniqueId();
 
-                    // === GHOST SYSTEM HANDLING ===
-                    String pendingKingdom = player.getPersistentDataContainer().get(
-                            pendingGhostKey, 
-                            PersistentDataType.STRING
-                    );
-                    
-                    if (pendingKingdom != null) {
-                        // Remove pending markers from PDC
-                        player.getPersistentDataContainer().remove(pendingGhostKey);
-                        player.getPersistentDataContainer().remove(deathLocationKey);
-                        player.getPersistentDataContainer().remove(bedSpawnKey);
-                        
-                        // Get saved locations from memory
-                        Location savedDeathLoc = deathLocations.remove(uuid);
-                        Location savedBedSpawn = bedSpawnLocations.remove(uuid);
-                        
-                        // Make player a ghost and teleport to death location
-                        player.getScheduler().runDelayed(plugin, task2 -> {
-                            if (player.isOnline()) {
-                                plugin.getGhostManager().makeGhost(player, pendingKingdom, savedDeathLoc, savedBedSpawn);
-                                
-                                // Teleport ghost to death location
-                                if (savedDeathLoc != null && savedDeathLoc.getWorld() != null) {
-                                    FoliaUtil.teleportAsync(player, savedDeathLoc);
-                                }
-                            }
-                        }, null, 5L);
-                        
-                        cleanup(uuid, scheduledTask);
-                        return;
-                    }
+        boolean wasTracked = tracked.remove(uuid);
+        ScheduledTask timeout = pending.remove(uuid);
+        if (timeout != null) {
+            timeout.cancel();
+        }
+        Location savedDeathLoc = deathLocations.remove(uuid);
+        Location savedBedSpawn = bedSpawnLocations.remove(uuid);
 
-                    // === NORMAL RESPAWN TELEPORT LOGIC ===
-                    if (!plugin.getConfigManager().isTeleportOnDeathNoRespawn()) {
-                        cleanup(uuid, scheduledTask);
-                        return;
-                    }
+        // === GHOST SYSTEM HANDLING ===
+        PersistentDataContainer pdc = player.getPersistentDataContainer();
+        String pendingKingdom = pdc.get(pendingGhostKey, PersistentDataType.STRING);
 
-                    String playerKingdom = plugin.getKingdomManager().getPlayerKingdomId(uuid);
+        if (pendingKingdom != null && plugin.getGhostManager() != null) {
+            // After a timeout the locations are only left in PDC
+            if (savedDeathLoc == null) {
+                savedDeathLoc = readLocation(pdc, deathLocationKey);
+                savedBedSpawn = readLocation(pdc, bedSpawnKey);
+            }
 
-                    if (playerKingdom == null) {
-                        cleanup(uuid, scheduledTask);
-                        return;
-                    }
+            // Remove pending markers from PDC
+            pdc.remove(pendingGhostKey);
+            pdc.remove(deathLocationKey);
+            pdc.remove(bedSpawnKey);
 
-                    Location spawn = plugin.getSpawnManager().getSpawn(playerKingdom);
+            // Make player a ghost and teleport to death location
+            Location deathLoc = savedDeathLoc;
+            Location bedSpawn = savedBedSpawn;
+            FoliaUtil.runDelayed(plugin, player, () -> {
+                if (player.isOnline()) {
+                    plugin.getGhostManager().makeGhost(player, pendingKingdom, deathLoc, bedSpawn);
 
-                    if (spawn == null || spawn.getWorld() == null) {
-                        cleanup(uuid, scheduledTask);
-                        return;
+                    // Teleport ghost to death location
+                    if (deathLoc != null && deathLoc.getWorld() != null) {
+                        FoliaUtil.teleportAsync(player, deathLoc);
                     }
+                }
+            }, 5L);
+            return;
+        }
 
-                    player.teleportAsync(spawn);
-                    cleanup(uuid, scheduledTask);
-                },
-                () -> waiting.remove(uuid),
-                1L,
-                4L
-        );
+        // Respawns we didn't track (admins, leaving the End) are left alone
+        if (!wasTracked) {
+            return;
+        }
+
+        // === NORMAL RESPAWN TELEPORT LOGIC ===
+        if (!plugin.getConfigManager().isTeleportOnDeathNoRespawn()) {
+            return;
+        }
+
+        String playerKingdom = plugin.getKingdomManager().getPlayerKingdomId(uuid);
+        if (playerKingdom == null || !plugin.getSpawnManager().hasSpawn(playerKingdom)) {
+            return;
+        }
+
+        plugin.getSpawnTeleportQueue().enqueue(player, playerKingdom, null);
+    }
 
-        waiting.put(uuid, task);
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onQuit(PlayerQuitEvent event) {
+        // Player left on the death screen - GhostVisibilityListener picks up the PDC markers on rejoin
+        UUID uuid = event.getPlayer().getUniqueId();
+        tracked.remove(uuid);
+        ScheduledTask timeout = pending.remove(uuid);
+        if (timeout != null) {
+            timeout.cancel();
+        }
+        cleanup(uuid);
     }
 
-    private void cleanup(UUID uuid, ScheduledTask task) {
-        task.cancel();
-        waiting.remove(uuid);
+    private void cleanup(UUID uuid) {
+        pending.remove(uuid);
         deathLocations.remove(uuid);
         bedSpawnLocations.remove(uuid);
     }
     
     /**
-     * Serializes a Location to a string for PDC storage.
-     */
-    private String serializeLocation(Location loc) {
-        if (loc == null || loc.getWorld() == null) return null;
-        return loc.getWorld().getName() + ";" + 
-               loc.getX() + ";" + 
-               loc.getY() + ";" + 
-               loc.getZ() + ";" +
-               loc.getYaw() + ";" +
-               loc.getPitch();
-    }
-    
-    /**
-     * Deserializes a Location from a string.
+     * Reads a location saved in the player's PDC.
+     * Locations written by older versions as "world;x;y;z;yaw;pitch" strings are still understood.
+     * @return the location, or null if none is saved, it is malformed or its world is not loaded
      */
-    public Location deserializeLocation(String str) {
-        if (str == null || str.isEmpty()) return null;
-        try {
-            String[] parts = str.split(";");
-            if (parts.length < 4) return null;
-            
-            org.bukkit.World world = org.bukkit.Bukkit.getWorld(parts[0]);
-            if (world == null) return null;
-            
-            double x = Double.parseDouble(parts[1]);
-            double y = Double.parseDouble(parts[2]);
-            double z = Double.parseDouble(parts[3]);
-            float yaw = parts.length > 4 ? Float.parseFloat(parts[4]) : 0f;
-            float pitch = parts.length > 5 ? Float.parseFloat(parts[5]) : 0f;
-            
-            return new Location(world, x, y, z, yaw, pitch);
-        } catch (Exception e) {
-            return null;
+    public Location readLocation(PersistentDataContainer pdc, NamespacedKey key) {
+        if (pdc.has(key, LocationDataType.INSTANCE)) {
+            try {
+                return pdc.get(key, LocationDataType.INSTANCE);
+            } catch (IllegalArgumentException e) {
+                plugin.debug(DebugCategory.RESPAWN, () -> "Unreadable location " + key + ": " + e.getMessage());
+                return null;
+            }
         }
+        return LocationDataType.fromLegacyString(pdc.get(key, PersistentDataType.STRING));
     }
 }
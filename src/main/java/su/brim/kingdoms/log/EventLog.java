@@ -0,0 +1,232 @@
+package su.brim.kingdoms.log;
+
+import su.brim.kingdoms.KingdomsAddon;
+import su.brim.kingdoms.util.FoliaUtil;
+import org.bukkit.Location;
+import org.bukkit.configuration.file.FileConfiguration;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Structured in-memory log of gameplay events (respawns, ghosts, damage).
+ * Entries are written into a lock-free ring buffer from any region thread
+ * and can be dumped with /kingdoms log. Console output is optional and is
+ * written from the async scheduler, never from the thread that recorded the event.
+ */
+public class EventLog {
+
+    /**
+     * Event types that can be recorded.
+     */
+    public enum Type {
+        RESPAWN("respawn"),
+        GHOST("ghost"),
+        DAMAGE("damage");
+
+        private final String configKey;
+
+        Type(String configKey) {
+            this.configKey = configKey;
+        }
+
+        public String getConfigKey() {
+            return configKey;
+        }
+    }
+
+    /**
+     * Single recorded event. Location is stored as plain values so the entry
+     * doesn't keep worlds or chunks referenced.
+     */
+    public static final class Entry {
+        private final long time;
+        private final Type type;
+        private final String action;
+        private final String player;
+        private final String world;
+        private final double x, y, z;
+        private final String details;
+
+        private Entry(long time, Type type, String action, String player,
+                      @Nullable Location location, @Nullable String details) {
+            this.time = time;
+            this.type = type;
+            this.action = action;
+            this.player = player;
+            if (location != null && location.getWorld() != null) {
+                this.world = location.getWorld().getName();
+                this.x = location.getX();
+                this.y = location.getY();
+                this.z = location.getZ();
+            } else {
+                this.world = null;
+                this.x = this.y = this.z = 0;
+            }
+            this.details = details;
+        }
+
+        public long getTime() {
+            return time;
+        }
+
+        public Type getType() {
+            return type;
+        }
+
+        public String getAction() {
+            return action;
+        }
+
+        public String getPlayer() {
+            return player;
+        }
+
+        /**
+         * Formats the entry as a single line (without time).
+         */
+        public String format() {
+            StringBuilder sb = new StringBuilder(64);
+            sb.append(type.name()).append(' ').append(action).append(' ').append(player);
+            if (world != null) {
+                sb.append(" @ ").append(world).append(' ')
+                  .append(String.format("%.1f, %.1f, %.1f", x, y, z));
+            }
+            if (details != null) {
+                sb.append(" (").append(details).append(')');
+            }
+            return sb.toString();
+        }
+    }
+
+    private static final int DEFAULT_CAPACITY = 512;
+    private static final long CONSOLE_FLUSH_TICKS = 20L;
+
+    private final KingdomsAddon plugin;
+
+    private volatile AtomicReferenceArray<Entry> buffer;
+    private final AtomicLong sequence = new AtomicLong();
+
+    // Sample rate per Type ordinal (0.0 - 1.0)
+    private volatile double[] sampleRates = new double[Type.values().length];
+    private volatile boolean enabled;
+    private volatile boolean console;
+
+    private final Queue<Entry> consoleQueue = new ConcurrentLinkedQueue<>();
+
+    public EventLog(KingdomsAddon plugin) {
+        this.plugin = plugin;
+        this.buffer = new AtomicReferenceArray<>(DEFAULT_CAPACITY);
+        load();
+        FoliaUtil.runAsyncRepeating(plugin, this::flushConsole, CONSOLE_FLUSH_TICKS, CONSOLE_FLUSH_TICKS);
+    }
+
+    /**
+     * Loads event log settings from config.
+     */
+    public void load() {
+        FileConfiguration config = plugin.getConfig();
+
+        enabled = config.getBoolean("event-log.enabled", true);
+        console = config.getBoolean("event-log.console", false);
+
+        double[] rates = new double[Type.values().length];
+        for (Type type : Type.values()) {
+            double defaultRate = type == Type.DAMAGE ? 0.1 : 1.0;
+            double rate = config.getDouble("event-log.sampling." + type.getConfigKey(), defaultRate);
+            rates[type.ordinal()] = Math.max(0.0, Math.min(1.0, rate));
+        }
+        sampleRates = rates;
+
+        // Capacity is rounded up to a power of two so the slot is a simple mask
+        int requested = Math.max(16, Math.min(1 << 16, config.getInt("event-log.buffer-size", DEFAULT_CAPACITY)));
+        int capacity = Integer.highestOneBit(requested - 1) << 1;
+        if (capacity != buffer.length()) {
+            buffer = new AtomicReferenceArray<>(capacity);
+            sequence.set(0);
+        }
+    }
+
+    /**
+     * Decides whether an event of this type should be recorded.
+     * Call sites check this first so nothing is built for dropped events.
+     */
+    public boolean sample(Type type) {
+        if (!enabled) {
+            return false;
+        }
+        double rate = sampleRates[type.ordinal()];
+        if (rate >= 1.0) {
+            return true;
+        }
+        return rate > 0.0 && ThreadLocalRandom.current().nextDouble() < rate;
+    }
+
+    /**
+     * Records an event into the ring buffer.
+     *
+     * @param type Event type
+     * @param action Short action name (e.g. "kingdom-spawn")
+     * @param player Player name
+     * @param location Related location (nullable)
+     * @param details Additional details (nullable)
+     */
+    public void record(Type type, String action, String player,
+                       @Nullable Location location, @Nullable String details) {
+        Entry entry = new Entry(System.currentTimeMillis(), type, action, player, location, details);
+        AtomicReferenceArray<Entry> buf = buffer;
+        long seq = sequence.getAndIncrement();
+        buf.set((int) (seq & (buf.length() - 1)), entry);
+        if (console) {
+            consoleQueue.offer(entry);
+        }
+    }
+
+    /**
+     * Gets the most recent entries, newest first.
+     *
+     * @param limit Maximum number of entries
+     * @param type Filter by type (nullable for all)
+     */
+    public List<Entry> getRecent(int limit, @Nullable Type type) {
+        List<Entry> result = new ArrayList<>(Math.min(limit, 64));
+        AtomicReferenceArray<Entry> buf = buffer;
+        int slotMask = buf.length() - 1;
+        long end = sequence.get();
+        long start = Math.max(0, end - buf.length());
+        for (long seq = end - 1; seq >= start && result.size() < limit; seq--) {
+            Entry entry = buf.get((int) (seq & slotMask));
+            if (entry != null && (type == null || entry.getType() == type)) {
+                result.add(entry);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Gets the total number of recorded events since startup or last resize.
+     */
+    public long getRecordedCount() {
+        return sequence.get();
+    }
+
+    public int getCapacity() {
+        return buffer.length();
+    }
+
+    /**
+     * Writes queued entries to the console (async scheduler).
+     */
+    private void flushConsole() {
+        Entry entry;
+        while ((entry = consoleQueue.poll()) != null) {
+            plugin.getLogger().info("[EVENT] " + entry.format());
+        }
+    }
+}
@@ -0,0 +1,93 @@
+package su.brim.kingdoms.manager;
+
+import su.brim.kingdoms.KingdomsAddon;
+import su.brim.kingdoms.api.KingdomsAPI;
+import su.brim.kingdoms.util.FoliaUtil;
+import org.bukkit.Bukkit;
+import org.bukkit.entity.Player;
+
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Caches the admin bypass permission of online players.
+ * Permission providers (LuckPerms etc.) make hasPermission a non-trivial lookup,
+ * so hot paths like damage handling read the cached flag instead.
+ * Refreshed on join, on permission recalculation and periodically for permission
+ * changes that send no event (e.g. temporary LuckPerms nodes expiring).
+ */
+public class AdminCache {
+    
+    private static final long REFRESH_INTERVAL_TICKS = 20L * 30;
+    
+    private final KingdomsAddon plugin;
+
+    // Player UUID -> admin flag (only Boolean.TRUE / Boolean.FALSE constants are stored)
+    private final Map<UUID, Boolean> adminStatus = new ConcurrentHashMap<>();
+
+    public AdminCache(KingdomsAddon plugin) {
+        this.plugin = plugin;
+    }
+    
+    /**
+     * Starts the periodic refresh of all online players.
+     */
+    public void start() {
+        FoliaUtil.runGlobalRepeating(plugin, () -> {
+            for (Player player : Bukkit.getOnlinePlayers()) {
+                // hasPermission belongs on the player's own thread
+                FoliaUtil.runOnEntity(plugin, player, () -> refresh(player));
+            }
+        }, REFRESH_INTERVAL_TICKS, REFRESH_INTERVAL_TICKS);
+    }
+    
+    /**
+     * Checks if a player has admin bypass.
+     * Falls back to a permission check (and caches it) if the player is not cached yet.
+     */
+    public boolean isAdmin(Player player) {
+        Boolean cached = adminStatus.get(player.getUniqueId());
+        if (cached != null) {
+            return cached;
+        }
+        return refresh(player);
+    }
+
+    /**
+     * Re-evaluates the admin permission of a player and stores the result.
+     * @return the new admin status
+     */
+    public boolean refresh(Player player) {
+        boolean admin = player.hasPermission(KingdomsAPI.ADMIN_PERMISSION);
+        Boolean previous = adminStatus.put(player.getUniqueId(), admin ? Boolean.TRUE : Boolean.FALSE);
+        
+        // Admins have no nametag color, so a changed status changes the nametag
+        if (previous != null && previous != admin && plugin.getTeamColorManager() != null) {
+            plugin.getTeamColorManager().updatePlayer(player);
+        }
+        return admin;
+    }
+    
+    /**
+     * Gets the cached admin status of an online player by UUID.
+     * @return the cached status, or false if the player is not cached (offline)
+     */
+    public boolean isAdmin(UUID uuid) {
+        return adminStatus.getOrDefault(uuid, Boolean.FALSE);
+    }
+
+    /**
+     * Removes a player from the cache (on quit).
+     */
+    public void invalidate(UUID uuid) {
+        adminStatus.remove(uuid);
+    }
+
+    /**
+     * Clears the whole cache.
+     */
+    public void clear() {
+        adminStatus.clear();
+    }
+}
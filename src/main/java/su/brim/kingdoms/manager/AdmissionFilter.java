@@ -0,0 +1,163 @@
+package su.brim.kingdoms.manager;
+
+import su.brim.kingdoms.KingdomsAddon;
+import su.brim.kingdoms.util.BloomFilter;
+import su.brim.kingdoms.util.DebugCategory;
+import org.bukkit.configuration.file.FileConfiguration;
+
+import java.util.HashSet;
+import java.util.Locale;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Decides before login whether a player may join at all.
+ * A Bloom filter over whitelisted names and assigned UUIDs rejects most strangers
+ * without touching the whitelist maps; positives are confirmed against the exact data
+ * in KingdomManager. Runs on the async pre-login thread, so no region work is involved.
+ */
+public class AdmissionFilter {
+
+    private static final double FALSE_POSITIVE_RATE = 0.01;
+
+    private final KingdomsAddon plugin;
+
+    private volatile BloomFilter filter;
+    private volatile boolean enabled;
+    private volatile Set<String> bypass = Set.of();
+
+    // Statistics
+    private final LongAdder checked = new LongAdder();
+    private final LongAdder rejectedByFilter = new LongAdder();
+    private final LongAdder rejectedExact = new LongAdder();
+
+    public AdmissionFilter(KingdomsAddon plugin) {
+        this.plugin = plugin;
+        load();
+    }
+
+    /**
+     * Loads settings from config.
+     */
+    public void load() {
+        FileConfiguration config = plugin.getConfig();
+        enabled = config.getBoolean("admission.enabled", false);
+
+        Set<String> entries = new HashSet<>();
+        for (String entry : config.getStringList("admission.bypass")) {
+            entries.add(entry.toLowerCase(Locale.ROOT));
+        }
+        bypass = Set.copyOf(entries);
+    }
+
+    /**
+     * Rebuilds the filter from the current whitelists and kingdom assignments.
+     */
+    public void rebuild() {
+        KingdomManager kingdomManager = plugin.getKingdomManager();
+        Set<String> names = kingdomManager.getWhitelistedNames();
+        Set<UUID> assigned = kingdomManager.getAssignedPlayers();
+
+        // Headroom for players added until the next rebuild
+        BloomFilter rebuilt = new BloomFilter((names.size() + assigned.size()) * 2 + 64, FALSE_POSITIVE_RATE);
+        for (String name : names) {
+            rebuilt.put(nameKey(name));
+        }
+        for (UUID uuid : assigned) {
+            rebuilt.put(uuidKey(uuid));
+        }
+        filter = rebuilt;
+
+        plugin.debug(DebugCategory.JOIN, () -> "Admission filter rebuilt: " + names.size() + " names, " +
+                assigned.size() + " UUIDs, " + rebuilt.getSizeBytes() + " bytes");
+    }
+
+    /**
+     * Adds a whitelisted name (whitelist changed at runtime).
+     */
+    public void addName(String name) {
+        BloomFilter current = filter;
+        if (current != null) {
+            current.put(nameKey(name));
+        }
+    }
+
+    /**
+     * Adds an assigned player UUID.
+     */
+    public void addPlayer(UUID uuid) {
+        BloomFilter current = filter;
+        if (current != null) {
+            current.put(uuidKey(uuid));
+        }
+    }
+
+    /**
+     * Checks if a player connecting with this name and UUID may join.
+     */
+    public boolean isAdmitted(String name, UUID uuid) {
+        checked.increment();
+
+        if (bypass.contains(name.toLowerCase(Locale.ROOT)) || bypass.contains(uuid.toString())) {
+            return true;
+        }
+
+        BloomFilter current = filter;
+        if (current != null && !current.mightContain(nameKey(name)) && !current.mightContain(uuidKey(uuid))) {
+            rejectedByFilter.increment();
+            return false;
+        }
+
+        if (!plugin.getKingdomManager().isAdmissible(name, uuid)) {
+            rejectedExact.increment();
+            return false;
+        }
+        return true;
+    }
+
+    private static String nameKey(String name) {
+        return "n:" + name.toLowerCase(Locale.ROOT);
+    }
+
+    private static String uuidKey(UUID uuid) {
+        return "u:" + uuid;
+    }
+
+    // === Statistics ===
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public long getCheckedCount() {
+        return checked.sum();
+    }
+
+    /**
+     * Gets the number of players rejected by the filter alone.
+     */
+    public long getRejectedByFilterCount() {
+        return rejectedByFilter.sum();
+    }
+
+    /**
+     * Gets the number of filter false positives rejected by the exact check.
+     */
+    public long getRejectedExactCount() {
+        return rejectedExact.sum();
+    }
+
+    /**
+     * Gets the share of checked players that were rejected (0-100).
+     */
+    public double getRejectionRate() {
+        long total = checked.sum();
+        return total == 0 ? 0.0 : (rejectedByFilter.sum() + rejectedExact.sum()) * 100.0 / total;
+    }
+
+    public long getFilterSizeBytes() {
+        BloomFilter current = filter;
+        return current != null ? current.getSizeBytes() : 0;
+    }
+}
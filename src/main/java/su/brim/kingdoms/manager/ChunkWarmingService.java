@@ -0,0 +1,271 @@
+package su.brim.kingdoms.manager;
+
+import su.brim.kingdoms.KingdomsAddon;
+import su.brim.kingdoms.ghost.altar.Altar;
+import su.brim.kingdoms.util.DebugCategory;
+import su.brim.kingdoms.util.FoliaUtil;
+import org.bukkit.Bukkit;
+import org.bukkit.Location;
+import org.bukkit.World;
+import org.bukkit.configuration.file.FileConfiguration;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Keeps chunks around kingdom spawns and altars loaded with plugin chunk tickets,
+ * so teleports and respawns there never wait on a chunk load.
+ * Tickets are added and removed on the owning region through the region scheduler.
+ */
+public class ChunkWarmingService {
+
+    // Rough in-memory size of a loaded chunk (block palettes, light, heightmaps, entities)
+    private static final long ESTIMATED_CHUNK_BYTES = 160L * 1024;
+
+    private record ChunkPos(UUID world, int x, int z) {}
+
+    private final KingdomsAddon plugin;
+
+    // Owner ("spawn:<kingdom>", "altar:<id>") -> chunks it pins
+    private final Map<String, List<ChunkPos>> owners = new HashMap<>();
+    // Owners of temporary holds, kept across refreshes (guarded by this)
+    private final Set<String> temporaryOwners = new HashSet<>();
+    // Chunk -> number of owners pinning it (guarded by this)
+    private final Map<ChunkPos, Integer> references = new HashMap<>();
+    // Chunks that currently hold our ticket (updated on region threads)
+    private final Set<ChunkPos> ticketed = ConcurrentHashMap.newKeySet();
+
+    private volatile boolean enabled;
+    private volatile int radius;
+
+    public ChunkWarmingService(KingdomsAddon plugin) {
+        this.plugin = plugin;
+        load();
+    }
+
+    /**
+     * Loads settings from config.
+     */
+    public void load() {
+        FileConfiguration config = plugin.getConfig();
+        enabled = config.getBoolean("chunk-warming.enabled", false);
+        radius = Math.max(0, Math.min(4, config.getInt("chunk-warming.radius", 1)));
+    }
+
+    /**
+     * Re-pins all kingdom spawns and altars (on startup and reload).
+     * Temporary holds are kept until they expire.
+     */
+    public synchronized void refreshAll() {
+        for (String owner : new ArrayList<>(owners.keySet())) {
+            if (!temporaryOwners.contains(owner)) {
+                unpin(owner);
+            }
+        }
+        if (!enabled) {
+            return;
+        }
+
+        for (String kingdomId : KingdomManager.ALL_KINGDOMS) {
+            Location spawn = plugin.getSpawnManager().getSpawn(kingdomId);
+            if (spawn != null) {
+                pin("spawn:" + kingdomId, spawn);
+            }
+        }
+
+        if (plugin.getAltarManager() != null) {
+            for (Altar altar : plugin.getAltarManager().getAllAltars()) {
+                pin("altar:" + altar.getAltarId(), altar.getLocation());
+            }
+        }
+
+        plugin.debug(DebugCategory.GENERAL, () -> "Chunk warming: " + owners.size() + " points, " +
+                references.size() + " chunks");
+    }
+
+    /**
+     * Pins the chunks around a kingdom spawn (replaces the previous pin).
+     */
+    public void pinSpawn(String kingdomId, Location spawn) {
+        pin("spawn:" + kingdomId, spawn);
+    }
+
+    public void unpinSpawn(String kingdomId) {
+        unpin("spawn:" + kingdomId);
+    }
+
+    /**
+     * Pins the chunks around an altar (replaces the previous pin).
+     */
+    public void pinAltar(UUID altarId, Location location) {
+        pin("altar:" + altarId, location);
+    }
+
+    public void unpinAltar(UUID altarId) {
+        unpin("altar:" + altarId);
+    }
+
+    /**
+     * Holds a ticket on the chunk of a location for a limited time, even if
+     * chunk warming is disabled. Used to keep pre-warmed destinations loaded
+     * until the teleport happens.
+     *
+     * @param owner Unique owner key (a new hold for the same owner replaces the old one)
+     * @param location The location
+     * @param ticks How long to hold the ticket
+     * @param onRelease Runs on the global region when the hold ends
+     */
+    public void holdTemporarily(String owner, Location location, long ticks, Runnable onRelease) {
+        List<ChunkPos> chunks;
+        synchronized (this) {
+            chunks = pinChunks(owner, location, 0);
+            if (chunks != null) {
+                temporaryOwners.add(owner);
+            }
+        }
+        if (chunks == null) {
+            onRelease.run();
+            return;
+        }
+        FoliaUtil.runGlobalDelayed(plugin, () -> {
+            releaseHold(owner, chunks);
+            onRelease.run();
+        }, ticks);
+    }
+
+    /**
+     * Releases a temporary hold unless it was replaced by a newer one.
+     */
+    private synchronized void releaseHold(String owner, List<ChunkPos> chunks) {
+        if (owners.get(owner) == chunks) {
+            unpin(owner);
+        }
+    }
+
+    /**
+     * Pins the chunks around a location for an owner if chunk warming is enabled.
+     */
+    private synchronized void pin(String owner, Location location) {
+        if (!enabled) {
+            unpin(owner);
+            return;
+        }
+        pinChunks(owner, location, radius);
+    }
+
+    /**
+     * Pins the chunks in a radius around a location for an owner.
+     * @return the pinned chunks, or null if the location has no world
+     */
+    private synchronized List<ChunkPos> pinChunks(String owner, Location location, int r) {
+        unpin(owner);
+        if (location == null || location.getWorld() == null) {
+            return null;
+        }
+
+        UUID worldId = location.getWorld().getUID();
+        int centerX = location.getBlockX() >> 4;
+        int centerZ = location.getBlockZ() >> 4;
+
+        List<ChunkPos> chunks = new ArrayList<>((2 * r + 1) * (2 * r + 1));
+        for (int x = centerX - r; x <= centerX + r; x++) {
+            for (int z = centerZ - r; z <= centerZ + r; z++) {
+                ChunkPos pos = new ChunkPos(worldId, x, z);
+                chunks.add(pos);
+                if (references.merge(pos, 1, Integer::sum) == 1) {
+                    scheduleTicketUpdate(pos);
+                }
+            }
+        }
+        owners.put(owner, chunks);
+        return chunks;
+    }
+
+    /**
+     * Releases the chunks pinned by an owner.
+     */
+    private synchronized void unpin(String owner) {
+        List<ChunkPos> chunks = owners.remove(owner);
+        if (chunks == null) {
+            return;
+        }
+        temporaryOwners.remove(owner);
+
+        for (ChunkPos pos : chunks) {
+            Integer left = references.computeIfPresent(pos, (key, count) -> count > 1 ? count - 1 : null);
+            if (left == null) {
+                scheduleTicketUpdate(pos);
+            }
+        }
+    }
+
+    /**
+     * Releases all pinned chunks.
+     */
+    public synchronized void releaseAll() {
+        for (String owner : new ArrayList<>(owners.keySet())) {
+            unpin(owner);
+        }
+    }
+
+    /**
+     * Brings the ticket of a chunk in line with its reference count on the chunk's region.
+     * The count is re-read when the task runs, so quick pin/unpin sequences settle correctly.
+     */
+    private void scheduleTicketUpdate(ChunkPos pos) {
+        World world = Bukkit.getWorld(pos.world());
+        if (world == null) {
+            ticketed.remove(pos);
+            return;
+        }
+
+        Location chunkLocation = new Location(world, (pos.x() << 4) + 8, 0, (pos.z() << 4) + 8);
+        FoliaUtil.runAtLocation(plugin, chunkLocation, () -> {
+            boolean wanted;
+            synchronized (this) {
+                wanted = references.containsKey(pos);
+            }
+
+            if (wanted) {
+                world.addPluginChunkTicket(pos.x(), pos.z(), plugin);
+                ticketed.add(pos);
+            } else if (ticketed.remove(pos)) {
+                world.removePluginChunkTicket(pos.x(), pos.z(), plugin);
+            }
+        });
+    }
+
+    // === Statistics ===
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public int getRadius() {
+        return radius;
+    }
+
+    public synchronized int getPinnedPointCount() {
+        return owners.size();
+    }
+
+    /**
+     * Gets the number of chunks currently holding a plugin ticket.
+     */
+    public int getTicketCount() {
+        return ticketed.size();
+    }
+
+    /**
+     * Gets a rough estimate of memory kept alive by the tickets.
+     */
+    public long getEstimatedMemoryBytes() {
+        return ticketed.size() * ESTIMATED_CHUNK_BYTES;
+    }
+}
@@ -2,6 +2,8 @@ package su.brim.kingdoms.manager;
 
 import su.brim.kingdoms.KingdomsAddon;
 import su.brim.kingdoms.config.MessagesConfig;
+import su.brim.kingdoms.join.JoinPreload;
+import su.brim.kingdoms.util.DebugCategory;
 import su.brim.kingdoms.util.FoliaUtil;
 import org.bukkit.Bukkit;
 import org.bukkit.Location;
@@ -14,6 +16,7 @@ import java.io.File;
 import java.io.IOException;
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
 
 /**
  * Manages kingdoms and player assignments.
@@ -32,8 +35,9 @@ public class KingdomManager {
             SNOW_KINGDOM, FOREST_KINGDOM, TROPICAL_KINGDOM
     );
     
-    // Player name -> Kingdom ID mapping (loaded from whitelist files)
-    private final Map<String, String> playerWhitelist = new ConcurrentHashMap<>();
+    // Player name (stored lowercase) -> Kingdom ID mapping (loaded from whitelist files).
+    // Case-insensitive keys, so name lookups don't allocate a lowercase copy
+    private final Map<String, String> playerWhitelist = new ConcurrentSkipListMap<>(String.CASE_INSENSITIVE_ORDER);
     
     // UUID -> Kingdom ID mapping (active assignments, persisted)
     private final Map<UUID, String> playerKingdoms = new ConcurrentHashMap<>();
@@ -73,7 +77,7 @@ public class KingdomManager {
                 plugin.saveResource("teams/" + kingdom + ".yml", false);
             }
             
-            FileConfiguration config = YamlConfiguration.loadConfiguration(file);
+            FileConfiguration config = plugin.getDataFileLoader().load(file);
             List<String> players = config.getStringList("players");
             
             for (String playerName : players) {
@@ -82,7 +86,7 @@ public class KingdomManager {
                 }
             }
             
-            plugin.debug("Loaded " + players.size() + " players for " + kingdom);
+            plugin.debug(DebugCategory.GENERAL, () -> "Loaded " + players.size() + " players for " + kingdom);
         }
         
         plugin.getLogger().info("Loaded " + playerWhitelist.size() + " player whitelist entries.");
@@ -96,7 +100,7 @@ public class KingdomManager {
             return;
         }
         
-        playerDataConfig = YamlConfiguration.loadConfiguration(playerDataFile);
+        playerDataConfig = plugin.getDataFileLoader().load(playerDataFile);
         
         for (String uuidStr : playerDataConfig.getKeys(false)) {
             try {
@@ -116,15 +120,17 @@ public class KingdomManager {
     /**
      * Saves player-kingdom assignments to file.
      */
-    public void savePlayerKingdoms() {
+    public synchronized void savePlayerKingdoms() {
         playerDataConfig = new YamlConfiguration();
         
         for (Map.Entry<UUID, String> entry : playerKingdoms.entrySet()) {
             playerDataConfig.set(entry.getKey().toString(), entry.getValue());
         }
         
+        long saveStart = System.nanoTime();
         try {
             playerDataConfig.save(playerDataFile);
+            plugin.getMetrics().recordSave("player-kingdoms", saveStart);
         } catch (IOException e) {
             plugin.getLogger().warning("Failed to save player kingdoms: " + e.getMessage());
         }
@@ -137,12 +143,42 @@ public class KingdomManager {
         loadWhitelists();
     }
     
+    /**
+     * Checks if a player is whitelisted by name or already assigned to a kingdom.
+     * Safe to call from the async pre-login thread.
+     */
+    public boolean isAdmissible(String playerName, UUID playerUuid) {
+        return playerKingdoms.containsKey(playerUuid) || playerWhitelist.containsKey(playerName);
+    }
+    
+    /**
+     * Gets the kingdom a player is assigned to, without the whitelist fallback.
+     */
+    @Nullable
+    public String getAssignedKingdom(UUID playerUuid) {
+        return playerKingdoms.get(playerUuid);
+    }
+    
+    /**
+     * Gets a snapshot of all whitelisted names (lowercase).
+     */
+    public Set<String> getWhitelistedNames() {
+        return new HashSet<>(playerWhitelist.keySet());
+    }
+    
+    /**
+     * Gets a snapshot of all players assigned to a kingdom.
+     */
+    public Set<UUID> getAssignedPlayers() {
+        return new HashSet<>(playerKingdoms.keySet());
+    }
+    
     /**
      * Finds which kingdom a player should belong to based on their name (whitelist).
      */
     @Nullable
     public String findKingdomInWhitelist(String playerName) {
-        return playerWhitelist.get(playerName.toLowerCase());
+        return playerWhitelist.get(playerName);
     }
     
     /**
@@ -172,6 +208,19 @@ public class KingdomManager {
         return null;
     }
     
+    /**
+     * Gets an online player's current kingdom ID.
+     * Avoids the online/offline player lookups of the UUID variant.
+     */
+    @Nullable
+    public String getPlayerKingdomId(Player player) {
+        String kingdom = playerKingdoms.get(player.getUniqueId());
+        if (kingdom != null) {
+            return kingdom;
+        }
+        return findKingdomInWhitelist(player.getName());
+    }
+
     /**
      * Checks if two players are in the same kingdom.
      */
@@ -206,14 +255,19 @@ public class KingdomManager {
         String currentKingdom = playerKingdoms.get(uuid);
         
         if (kingdomId.equals(currentKingdom)) {
-            plugin.debug("Player " + player.getName() + " already in " + kingdomId);
+            plugin.debug(DebugCategory.JOIN, () -> "Player " + player.getName() + " already in " + kingdomId);
             return true;
         }
         
         playerKingdoms.put(uuid, kingdomId);
-        savePlayerKingdoms();
+        plugin.getPlaceholderCache().invalidate(uuid);
+        // Called during join, keep the file write off the player's region
+        FoliaUtil.runAsync(plugin, this::savePlayerKingdoms);
+        if (plugin.getAdmissionFilter() != null) {
+            plugin.getAdmissionFilter().addPlayer(uuid);
+        }
         
-        plugin.debug("Assigned " + player.getName() + " to " + kingdomId);
+        plugin.debug(DebugCategory.JOIN, () -> "Assigned " + player.getName() + " to " + kingdomId);
         return true;
     }
     
@@ -225,34 +279,48 @@ public class KingdomManager {
      * @return true if player was processed (has kingdom), false if not in whitelist
      */
     public boolean processPlayerJoin(Player player) {
+        return processPlayerJoin(player, null);
+    }
+    
+    /**
+     * Processes a player joining the server using state resolved at pre-login.
+     * 
+     * @param player The player
+     * @param preload State resolved at pre-login (nullable, looked up now if missing)
+     * @return true if player was processed (has kingdom), false if not in whitelist
+     */
+    public boolean processPlayerJoin(Player player, @Nullable JoinPreload preload) {
         UUID uuid = player.getUniqueId();
         String name = player.getName();
         
-        plugin.debug("=== Processing player join: " + name + " (" + uuid + ") ===");
+        plugin.debug(DebugCategory.JOIN, () -> "=== Processing player join: " + name + " (" + uuid + ") ===");
+        
+        boolean joinedBefore = preload != null ? preload.joinedBefore() 
+                : plugin.getPlayerDataManager().hasJoinedBefore(uuid);
         
         // Check if already has a kingdom assignment
-        String currentKingdom = playerKingdoms.get(uuid);
-        plugin.debug("Current kingdom in playerKingdoms: " + currentKingdom);
+        String currentKingdom = preload != null ? preload.assignedKingdom() : playerKingdoms.get(uuid);
+        plugin.debug(DebugCategory.JOIN, () -> "Current kingdom in playerKingdoms: " + currentKingdom);
         
         if (currentKingdom != null) {
-            plugin.debug("Player already assigned to " + currentKingdom);
+            plugin.debug(DebugCategory.JOIN, () -> "Player already assigned to " + currentKingdom);
             processedPlayers.add(uuid);
             
             // Check if first join and should teleport
-            handleFirstJoinTeleport(player, currentKingdom);
+            handleFirstJoinTeleport(player, currentKingdom, joinedBefore);
             return true;
         }
         
         // Find their assigned kingdom from whitelist
-        String kingdomId = findKingdomInWhitelist(name);
-        plugin.debug("Kingdom from whitelist: " + kingdomId);
+        String kingdomId = preload != null ? preload.whitelistKingdom() : findKingdomInWhitelist(name);
+        plugin.debug(DebugCategory.JOIN, () -> "Kingdom from whitelist: " + kingdomId);
         
         if (kingdomId == null) {
-            plugin.debug("Player " + name + " NOT found in any kingdom whitelist.");
+            plugin.debug(DebugCategory.JOIN, () -> "Player " + name + " NOT found in any kingdom whitelist.");
             return false;
         }
         
-        plugin.debug("Player " + name + " found in whitelist for " + kingdomId);
+        plugin.debug(DebugCategory.JOIN, () -> "Player " + name + " found in whitelist for " + kingdomId);
         
         // Assign to kingdom
         boolean success = assignPlayerToKingdom(player, kingdomId);
@@ -267,7 +335,7 @@ public class KingdomManager {
             ));
             
             // Handle first join teleport
-            handleFirstJoinTeleport(player, kingdomId);
+            handleFirstJoinTeleport(player, kingdomId, joinedBefore);
         }
         
         return success;
@@ -276,73 +344,88 @@ public class KingdomManager {
     /**
      * Handles teleportation for first-time joiners.
      */
-    private void handleFirstJoinTeleport(Player player, String kingdomId) {
-        plugin.debug("=== handleFirstJoinTeleport for " + player.getName() + " ===");
+    private void handleFirstJoinTeleport(Player player, String kingdomId, boolean hasJoinedBefore) {
+        plugin.debug(DebugCategory.JOIN, () -> "=== handleFirstJoinTeleport for " + player.getName() + " ===");
         
         boolean teleportOnFirstJoin = plugin.getConfigManager().isTeleportOnFirstJoin();
-        plugin.debug("teleport.on-first-join config: " + teleportOnFirstJoin);
+        plugin.debug(DebugCategory.JOIN, () -> "teleport.on-first-join config: " + teleportOnFirstJoin);
         
         if (!teleportOnFirstJoin) {
-            plugin.debug("First join teleport DISABLED in config");
+            plugin.debug(DebugCategory.JOIN, "First join teleport DISABLED in config");
             return;
         }
         
         UUID uuid = player.getUniqueId();
-        boolean hasJoinedBefore = plugin.getPlayerDataManager().hasJoinedBefore(uuid);
-        plugin.debug("Has joined before: " + hasJoinedBefore);
+        plugin.debug(DebugCategory.JOIN, () -> "Has joined before: " + hasJoinedBefore);
         
         if (hasJoinedBefore) {
-            plugin.debug("Player has joined before, skipping first join teleport");
+            plugin.debug(DebugCategory.JOIN, "Player has joined before, skipping first join teleport");
             return;
         }
         
-        plugin.debug("FIRST JOIN detected for " + player.getName() + ", will teleport to " + kingdomId);
+        plugin.debug(DebugCategory.JOIN, () -> "FIRST JOIN detected for " + player.getName() + ", will teleport to " + kingdomId);
         
         // Mark as joined BEFORE teleport
         plugin.getPlayerDataManager().markAsJoined(uuid);
-        plugin.debug("Marked player as joined");
+        plugin.debug(DebugCategory.JOIN, "Marked player as joined");
         
-        // Teleport to kingdom spawn
-        teleportToKingdomSpawn(player, kingdomId);
+        // Teleport to kingdom spawn. The join pipeline has already waited join.delay-ticks,
+        // so only the remaining part of the teleport delay is scheduled
+        int delay = plugin.getConfigManager().getTeleportDelayTicks() - plugin.getConfigManager().getJoinDelayTicks();
+        teleportToKingdomSpawn(player, kingdomId, Math.max(0, delay));
     }
     
     /**
      * Teleports a player to their kingdom's spawn point.
      */
     public void teleportToKingdomSpawn(Player player, String kingdomId) {
-        plugin.debug("=== teleportToKingdomSpawn for " + player.getName() + " to " + kingdomId + " ===");
+        teleportToKingdomSpawn(player, kingdomId, plugin.getConfigManager().getTeleportDelayTicks());
+    }
+    
+    /**
+     * Queues a teleport of a player to their kingdom's spawn point after the given delay.
+     * A delay of 0 queues immediately.
+     */
+    private void teleportToKingdomSpawn(Player player, String kingdomId, int delay) {
+        plugin.debug(DebugCategory.JOIN, () -> "=== teleportToKingdomSpawn for " + player.getName() + " to " + kingdomId + " ===");
         
         Location spawn = plugin.getSpawnManager().getSpawn(kingdomId);
-        plugin.debug("Spawn location: " + (spawn != null ? 
+        plugin.debug(DebugCategory.JOIN, () -> "Spawn location: " + (spawn != null ? 
                 spawn.getWorld().getName() + " " + spawn.getX() + "," + spawn.getY() + "," + spawn.getZ() : "NULL"));
         
         if (spawn == null) {
-            plugin.debug("No spawn set for " + kingdomId);
+            plugin.debug(DebugCategory.JOIN, () -> "No spawn set for " + kingdomId);
             plugin.getLogger().warning("Cannot teleport " + player.getName() + " - no spawn set for " + kingdomId + "!");
             player.sendMessage(plugin.getMessagesConfig().getComponentWithPrefix("kingdom.no-spawn"));
             return;
         }
         
-        // Schedule teleportation with delay
-        int delay = plugin.getConfigManager().getTeleportDelayTicks();
-        plugin.debug("Scheduling teleport with delay: " + delay + " ticks");
-        
-        FoliaUtil.runDelayed(plugin, player, () -> {
+        Runnable teleport = () -> {
             if (!player.isOnline()) {
-                plugin.debug("Player went offline before teleport");
+                plugin.debug(DebugCategory.JOIN, "Player went offline before teleport");
                 return;
             }
             
-            plugin.debug("Executing teleportAsync for " + player.getName());
-            FoliaUtil.teleportAsync(player, spawn).thenAccept(success -> {
-                plugin.debug("Teleport result: " + success);
+            // Spawn teleports go through the admission queue to smooth out login storms
+            plugin.debug(DebugCategory.JOIN, () -> "Queueing spawn teleport for " + player.getName());
+            plugin.getSpawnTeleportQueue().enqueue(player, kingdomId, success -> {
+                plugin.debug(DebugCategory.JOIN, () -> "Teleport result: " + success);
                 if (success) {
                     player.sendMessage(plugin.getMessagesConfig().getComponentWithPrefix("kingdom.teleported"));
                 } else {
                     plugin.getLogger().warning("Teleport failed for " + player.getName());
                 }
             });
-        }, delay);
+        };
+        
+        if (delay <= 0) {
+            teleport.run();
+            return;
+        }
+        
+        // Schedule teleportation with delay
+        plugin.debug(DebugCategory.JOIN, () -> "Scheduling teleport with delay: " + delay + " ticks");
+        FoliaUtil.runDelayed(plugin, player, teleport, delay);
     }
     
     /**
@@ -392,9 +475,14 @@ public class KingdomManager {
         players.add(playerName);
         config.set("players", players);
         
+        long saveStart = System.nanoTime();
         try {
             config.save(file);
+            plugin.getMetrics().recordSave("whitelist", saveStart);
             playerWhitelist.put(playerName.toLowerCase(), kingdomId);
+            if (plugin.getAdmissionFilter() != null) {
+                plugin.getAdmissionFilter().addName(playerName);
+            }
             return true;
         } catch (IOException e) {
             plugin.getLogger().warning("Failed to save " + kingdomId + ".yml: " + e.getMessage());
@@ -420,9 +508,11 @@ public class KingdomManager {
             
             if (removed) {
                 config.set("players", players);
+                long saveStart = System.nanoTime();
                 try {
                     config.save(file);
-                    plugin.debug("Removed " + playerName + " from " + kingdom + " whitelist");
+                    plugin.getMetrics().recordSave("whitelist", saveStart);
+                    plugin.debug(DebugCategory.GENERAL, () -> "Removed " + playerName + " from " + kingdom + " whitelist");
                 } catch (IOException e) {
                     plugin.getLogger().warning("Failed to save " + kingdom + ".yml: " + e.getMessage());
                 }
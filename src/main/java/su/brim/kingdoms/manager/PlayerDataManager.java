@@ -1,15 +1,16 @@
 package su.brim.kingdoms.manager;
 
 import su.brim.kingdoms.KingdomsAddon;
+import su.brim.kingdoms.util.DebugCategory;
+import su.brim.kingdoms.util.FoliaUtil;
 import org.bukkit.configuration.file.FileConfiguration;
-import org.bukkit.configuration.file.YamlConfiguration;
 
 import java.io.File;
 import java.io.IOException;
-import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Collectors;
 
 /**
@@ -22,7 +23,8 @@ public class PlayerDataManager {
     private FileConfiguration dataConfig;
     
     // Players who have joined before (for first-join teleport)
-    private final Set<UUID> joinedPlayers = new HashSet<>();
+    // Read from the async pre-login thread and saved asynchronously
+    private final Set<UUID> joinedPlayers = ConcurrentHashMap.newKeySet();
     
     public PlayerDataManager(KingdomsAddon plugin) {
         this.plugin = plugin;
@@ -42,7 +44,7 @@ public class PlayerDataManager {
             }
         }
         
-        dataConfig = YamlConfiguration.loadConfiguration(dataFile);
+        dataConfig = plugin.getDataFileLoader().load(dataFile);
         joinedPlayers.clear();
         
         List<String> uuidStrings = dataConfig.getStringList("joined-players");
@@ -54,21 +56,23 @@ public class PlayerDataManager {
             }
         }
         
-        plugin.debug("Loaded " + joinedPlayers.size() + " joined players.");
+        plugin.debug(DebugCategory.JOIN, () -> "Loaded " + joinedPlayers.size() + " joined players.");
     }
     
     /**
      * Saves player data to file.
      */
-    public void saveData() {
+    public synchronized void saveData() {
         List<String> uuidStrings = joinedPlayers.stream()
                 .map(UUID::toString)
                 .collect(Collectors.toList());
         
         dataConfig.set("joined-players", uuidStrings);
         
+        long saveStart = System.nanoTime();
         try {
             dataConfig.save(dataFile);
+            plugin.getMetrics().recordSave("playerdata", saveStart);
         } catch (IOException e) {
             plugin.getLogger().warning("Failed to save playerdata.yml: " + e.getMessage());
         }
@@ -93,8 +97,8 @@ public class PlayerDataManager {
      */
     public void markAsJoined(UUID uuid) {
         joinedPlayers.add(uuid);
-        // Save immediately to prevent data loss
-        saveData();
+        // Save immediately to prevent data loss, but off the player's region
+        FoliaUtil.runAsync(plugin, this::saveData);
     }
     
     /**
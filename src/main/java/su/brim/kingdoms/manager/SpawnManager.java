@@ -1,11 +1,11 @@
 package su.brim.kingdoms.manager;
 
 import su.brim.kingdoms.KingdomsAddon;
+import su.brim.kingdoms.util.DebugCategory;
 import org.bukkit.Bukkit;
 import org.bukkit.Location;
 import org.bukkit.World;
 import org.bukkit.configuration.file.FileConfiguration;
-import org.bukkit.configuration.file.YamlConfiguration;
 import org.jetbrains.annotations.Nullable;
 
 import java.io.File;
@@ -43,7 +43,7 @@ public class SpawnManager {
             }
         }
         
-        spawnsConfig = YamlConfiguration.loadConfiguration(spawnsFile);
+        spawnsConfig = plugin.getDataFileLoader().load(spawnsFile);
         spawns.clear();
         
         for (String kingdomId : KingdomManager.ALL_KINGDOMS) {
@@ -51,7 +51,7 @@ public class SpawnManager {
                 Location loc = loadLocation(kingdomId);
                 if (loc != null) {
                     spawns.put(kingdomId, loc);
-                    plugin.debug("Loaded spawn for " + kingdomId + ": " + formatLocation(loc));
+                    plugin.debug(DebugCategory.GENERAL, () -> "Loaded spawn for " + kingdomId + ": " + formatLocation(loc));
                 }
             }
         }
@@ -67,8 +67,10 @@ public class SpawnManager {
             saveLocation(entry.getKey(), entry.getValue());
         }
         
+        long saveStart = System.nanoTime();
         try {
             spawnsConfig.save(spawnsFile);
+            plugin.getMetrics().recordSave("spawns", saveStart);
         } catch (IOException e) {
             plugin.getLogger().warning("Failed to save spawns.yml: " + e.getMessage());
         }
@@ -87,15 +89,23 @@ public class SpawnManager {
      */
     public void setSpawn(String kingdomId, Location location) {
         spawns.put(kingdomId, location.clone());
+        if (plugin.getSpawnTeleportQueue() != null) {
+            plugin.getSpawnTeleportQueue().invalidate(kingdomId);
+        }
+        if (plugin.getChunkWarmingService() != null) {
+            plugin.getChunkWarmingService().pinSpawn(kingdomId, location);
+        }
         saveLocation(kingdomId, location);
         
+        long saveStart = System.nanoTime();
         try {
             spawnsConfig.save(spawnsFile);
+            plugin.getMetrics().recordSave("spawns", saveStart);
         } catch (IOException e) {
             plugin.getLogger().warning("Failed to save spawn for " + kingdomId + ": " + e.getMessage());
         }
         
-        plugin.debug("Set spawn for " + kingdomId + ": " + formatLocation(location));
+        plugin.debug(DebugCategory.GENERAL, () -> "Set spawn for " + kingdomId + ": " + formatLocation(location));
     }
     
     /**
@@ -110,10 +120,18 @@ public class SpawnManager {
      */
     public void removeSpawn(String kingdomId) {
         spawns.remove(kingdomId);
+        if (plugin.getSpawnTeleportQueue() != null) {
+            plugin.getSpawnTeleportQueue().invalidate(kingdomId);
+        }
+        if (plugin.getChunkWarmingService() != null) {
+            plugin.getChunkWarmingService().unpinSpawn(kingdomId);
+        }
         spawnsConfig.set(kingdomId, null);
         
+        long saveStart = System.nanoTime();
         try {
             spawnsConfig.save(spawnsFile);
+            plugin.getMetrics().recordSave("spawns", saveStart);
         } catch (IOException e) {
             plugin.getLogger().warning("Failed to remove spawn for " + kingdomId + ": " + e.getMessage());
         }
@@ -0,0 +1,337 @@
+package su.brim.kingdoms.manager;
+
+import su.brim.kingdoms.KingdomsAddon;
+import su.brim.kingdoms.util.DebugCategory;
+import su.brim.kingdoms.util.FoliaUtil;
+import org.bukkit.Location;
+import org.bukkit.World;
+import org.bukkit.block.Block;
+import org.bukkit.configuration.file.FileConfiguration;
+import org.bukkit.entity.Player;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+
+/**
+ * Admission queue for teleports to kingdom spawns.
+ * After a restart hundreds of players can be sent to the same three spawns at once;
+ * the queue lets through a limited number of teleports per tick, keeps a kingdom's
+ * requests waiting until its spawn chunks are loaded and spreads arrivals over
+ * safe points around the spawn.
+ */
+public class SpawnTeleportQueue {
+
+    private static final class Request {
+        private final Player player;
+        private final long enqueuedAt;
+        private final Consumer<Boolean> callback;
+
+        private Request(Player player, Consumer<Boolean> callback) {
+            this.player = player;
+            this.enqueuedAt = System.currentTimeMillis();
+            this.callback = callback;
+        }
+    }
+
+    private final KingdomsAddon plugin;
+
+    // Kingdom ID -> waiting requests
+    private final Map<String, Queue<Request>> queues = new ConcurrentHashMap<>();
+    private final AtomicInteger depth = new AtomicInteger();
+    private int drainOffset = 0; // Only touched by the global region
+
+    // Kingdom ID -> safe points around the spawn (computed on the spawn's region)
+    private final Map<String, Location[]> spreadPoints = new ConcurrentHashMap<>();
+    private final AtomicInteger spreadCursor = new AtomicInteger();
+
+    // Kingdoms whose spawn chunks are currently being loaded
+    private final Set<String> warming = ConcurrentHashMap.newKeySet();
+
+    // Settings
+    private volatile boolean enabled;
+    private volatile int teleportsPerTick;
+    private volatile int spreadRadius;
+
+    // Statistics
+    private final LongAdder enqueuedCount = new LongAdder();
+    private final LongAdder admittedCount = new LongAdder();
+    private final LongAdder droppedCount = new LongAdder();
+    private final LongAdder totalWaitMs = new LongAdder();
+    private final AtomicLong maxWaitMs = new AtomicLong();
+    private final AtomicInteger maxDepth = new AtomicInteger();
+
+    public SpawnTeleportQueue(KingdomsAddon plugin) {
+        this.plugin = plugin;
+        load();
+        FoliaUtil.runGlobalRepeating(plugin, this::drain, 1L, 1L);
+    }
+
+    /**
+     * Loads queue settings from config.
+     */
+    public void load() {
+        FileConfiguration config = plugin.getConfig();
+        enabled = config.getBoolean("spawn-queue.enabled", true);
+        teleportsPerTick = Math.max(1, config.getInt("spawn-queue.teleports-per-tick", 5));
+        int radius = Math.max(0, Math.min(16, config.getInt("spawn-queue.spread-radius", 3)));
+        if (radius != spreadRadius) {
+            spreadRadius = radius;
+            spreadPoints.clear();
+        }
+    }
+
+    /**
+     * Queues a teleport of the player to their kingdom spawn.
+     *
+     * @param player The player
+     * @param kingdomId The kingdom whose spawn to teleport to
+     * @param callback Receives the teleport result on the player's region (nullable)
+     */
+    public void enqueue(Player player, String kingdomId, @Nullable Consumer<Boolean> callback) {
+        Consumer<Boolean> resultCallback = callback != null ? callback : success -> {};
+
+        if (!enabled) {
+            Location spawn = plugin.getSpawnManager().getSpawn(kingdomId);
+            if (spawn == null || spawn.getWorld() == null) {
+                resultCallback.accept(false);
+                return;
+            }
+            FoliaUtil.runOnEntity(plugin, player, () ->
+                    FoliaUtil.teleportAsync(player, spawn).thenAccept(resultCallback));
+            return;
+        }
+
+        queues.computeIfAbsent(kingdomId, k -> new ConcurrentLinkedQueue<>())
+                .add(new Request(player, resultCallback));
+        enqueuedCount.increment();
+        int current = depth.incrementAndGet();
+        maxDepth.accumulateAndGet(current, Math::max);
+
+        warmSpawn(kingdomId);
+    }
+
+    /**
+     * Gets a spawn point for the kingdom, spread around the spawn if enabled.
+     * Also used for respawns, which the server performs itself.
+     */
+    @Nullable
+    public Location getSpawnPoint(String kingdomId) {
+        Location spawn = plugin.getSpawnManager().getSpawn(kingdomId);
+        if (spawn == null || spawn.getWorld() == null) {
+            return spawn;
+        }
+
+        Location[] points = spreadPoints.get(kingdomId);
+        if (points == null) {
+            // Computed in the background, the plain spawn is used until then
+            warmSpawn(kingdomId);
+            return spawn.clone();
+        }
+        return points[Math.floorMod(spreadCursor.getAndIncrement(), points.length)].clone();
+    }
+
+    /**
+     * Forgets cached spread points of a kingdom (spawn was moved).
+     */
+    public void invalidate(String kingdomId) {
+        spreadPoints.remove(kingdomId);
+    }
+
+    /**
+     * Admits queued teleports. Runs every tick on the global region.
+     */
+    private void drain() {
+        if (depth.get() == 0) {
+            return;
+        }
+
+        int budget = teleportsPerTick;
+        List<String> kingdoms = KingdomManager.ALL_KINGDOMS;
+        // Rotate the starting kingdom so one busy spawn can't starve the others
+        drainOffset = (drainOffset + 1) % kingdoms.size();
+
+        for (int i = 0; i < kingdoms.size() && budget > 0; i++) {
+            String kingdomId = kingdoms.get((drainOffset + i) % kingdoms.size());
+            Queue<Request> queue = queues.get(kingdomId);
+            if (queue == null || queue.isEmpty()) {
+                continue;
+            }
+
+            Location spawn = plugin.getSpawnManager().getSpawn(kingdomId);
+            if (spawn == null || spawn.getWorld() == null) {
+                // Spawn was removed while players were waiting
+                Request request;
+                while ((request = queue.poll()) != null) {
+                    depth.decrementAndGet();
+                    droppedCount.increment();
+                    Consumer<Boolean> callback = request.callback;
+                    FoliaUtil.runOnEntity(plugin, request.player, () -> callback.accept(false));
+                }
+                continue;
+            }
+
+            if (!isSpawnLoaded(spawn)) {
+                // Keep the kingdom's requests waiting until the chunks are loaded
+                warmSpawn(kingdomId);
+                continue;
+            }
+
+            while (budget > 0) {
+                Request request = queue.poll();
+                if (request == null) {
+                    break;
+                }
+                depth.decrementAndGet();
+
+                Player player = request.player;
+                if (!player.isOnline()) {
+                    droppedCount.increment();
+                    continue;
+                }
+
+                long waited = System.currentTimeMillis() - request.enqueuedAt;
+                totalWaitMs.add(waited);
+                maxWaitMs.accumulateAndGet(waited, Math::max);
+                admittedCount.increment();
+                budget--;
+
+                Location destination = getSpawnPoint(kingdomId);
+                plugin.debug(DebugCategory.JOIN, () -> "Admitted spawn teleport for " + player.getName() +
+                        " after " + waited + "ms");
+                FoliaUtil.runOnEntity(plugin, player, () ->
+                        FoliaUtil.teleportAsync(player, destination).thenAccept(request.callback));
+            }
+        }
+    }
+
+    private boolean isSpawnLoaded(Location spawn) {
+        return spawn.getWorld().isChunkLoaded(spawn.getBlockX() >> 4, spawn.getBlockZ() >> 4);
+    }
+
+    /**
+     * Loads the chunks around a kingdom spawn asynchronously and computes spread points.
+     */
+    private void warmSpawn(String kingdomId) {
+        Location spawn = plugin.getSpawnManager().getSpawn(kingdomId);
+        if (spawn == null || spawn.getWorld() == null) {
+            return;
+        }
+        if (isSpawnLoaded(spawn) && spreadPoints.containsKey(kingdomId)) {
+            return;
+        }
+        if (!warming.add(kingdomId)) {
+            return;
+        }
+
+        World world = spawn.getWorld();
+        int radius = spreadRadius;
+        int minX = (spawn.getBlockX() - radius) >> 4;
+        int maxX = (spawn.getBlockX() + radius) >> 4;
+        int minZ = (spawn.getBlockZ() - radius) >> 4;
+        int maxZ = (spawn.getBlockZ() + radius) >> 4;
+
+        List<CompletableFuture<?>> loads = new ArrayList<>();
+        for (int cx = minX; cx <= maxX; cx++) {
+            for (int cz = minZ; cz <= maxZ; cz++) {
+                loads.add(world.getChunkAtAsync(cx, cz));
+            }
+        }
+
+        CompletableFuture.allOf(loads.toArray(new CompletableFuture[0])).whenComplete((result, error) -> {
+            if (error != null) {
+                warming.remove(kingdomId);
+                plugin.getLogger().warning("Failed to load spawn chunks for " + kingdomId + ": " + error.getMessage());
+                return;
+            }
+            // Block checks must run on the spawn's region
+            FoliaUtil.runAtLocation(plugin, spawn, () -> {
+                try {
+                    spreadPoints.put(kingdomId, computeSpreadPoints(spawn, radius));
+                } finally {
+                    warming.remove(kingdomId);
+                }
+            });
+        });
+    }
+
+    /**
+     * Finds standable points around the spawn (same Y level, two passable blocks over a solid one).
+     * The spawn itself is always included.
+     */
+    private Location[] computeSpreadPoints(Location spawn, int radius) {
+        List<Location> points = new ArrayList<>();
+        points.add(spawn.clone());
+
+        World world = spawn.getWorld();
+        int baseX = spawn.getBlockX();
+        int baseY = spawn.getBlockY();
+        int baseZ = spawn.getBlockZ();
+
+        for (int dx = -radius; dx <= radius; dx++) {
+            for (int dz = -radius; dz <= radius; dz++) {
+                if (dx == 0 && dz == 0) continue;
+
+                Block feet = world.getBlockAt(baseX + dx, baseY, baseZ + dz);
+                if (feet.isPassable() && !feet.isLiquid()
+                        && feet.getRelative(0, 1, 0).isPassable()
+                        && feet.getRelative(0, -1, 0).getType().isSolid()) {
+                    points.add(spawn.clone().add(dx, 0, dz));
+                }
+            }
+        }
+
+        plugin.debug(DebugCategory.JOIN, () -> "Computed " + points.size() + " spread points around spawn");
+        return points.toArray(new Location[0]);
+    }
+
+    // === Statistics ===
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public int getQueueDepth() {
+        return depth.get();
+    }
+
+    public int getMaxQueueDepth() {
+        return maxDepth.get();
+    }
+
+    public long getEnqueuedCount() {
+        return enqueuedCount.sum();
+    }
+
+    public long getAdmittedCount() {
+        return admittedCount.sum();
+    }
+
+    public long getDroppedCount() {
+        return droppedCount.sum();
+    }
+
+    public long getAverageWaitMs() {
+        long admitted = admittedCount.sum();
+        return admitted == 0 ? 0 : totalWaitMs.sum() / admitted;
+    }
+
+    public long getMaxWaitMs() {
+        return maxWaitMs.get();
+    }
+
+    public int getSpreadPointCount(String kingdomId) {
+        Location[] points = spreadPoints.get(kingdomId);
+        return points != null ? points.length : 0;
+    }
+}
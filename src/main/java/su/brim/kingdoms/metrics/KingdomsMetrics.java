@@ -0,0 +1,174 @@
+package su.brim.kingdoms.metrics;
+
+import su.brim.kingdoms.KingdomsAddon;
+import su.brim.kingdoms.ghost.GhostManager;
+import su.brim.kingdoms.ghost.GhostState;
+import su.brim.kingdoms.ghost.ImmortalityManager;
+import su.brim.kingdoms.ghost.listener.GhostGameEventListener;
+import su.brim.kingdoms.manager.KingdomManager;
+import su.brim.kingdoms.util.FoliaUtil;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Metrics of the kingdom and ghost subsystems.
+ * Subsystems record events through the methods below; gauges are read from
+ * the managers when metrics are scraped. Exposed through /kingdoms metrics and,
+ * if enabled in config, a local HTTP endpoint.
+ */
+public class KingdomsMetrics {
+
+    // Upper bucket bounds in seconds
+    private static final double[] SAVE_BUCKETS = {0.001, 0.005, 0.01, 0.025, 0.05, 0.1, 0.25, 0.5, 1.0};
+    private static final double[] JOIN_BUCKETS = {0.0005, 0.001, 0.0025, 0.005, 0.01, 0.025, 0.05, 0.1};
+
+    private final KingdomsAddon plugin;
+    private final MetricsRegistry registry = new MetricsRegistry();
+
+    private final MetricsRegistry.Counter damageEvents;
+    private final MetricsRegistry.Counter resurrections;
+    private final MetricsRegistry.Counter buybacks;
+    private final MetricsRegistry.Counter immortalityTriggers;
+    private final MetricsRegistry.Histogram saveDuration;
+    private final MetricsRegistry.Histogram joinDuration;
+
+    private MetricsHttpServer httpServer;
+
+    public KingdomsMetrics(KingdomsAddon plugin) {
+        this.plugin = plugin;
+
+        damageEvents = registry.counter("kingdoms_damage_events_total",
+                "Player versus player damage events by kingdom relation", "relation");
+        resurrections = registry.counter("kingdoms_resurrections_total",
+                "Ghosts resurrected (timer, buyback or command)", null);
+        buybacks = registry.counter("kingdoms_buybacks_total",
+                "Ghosts bought back at an altar", null);
+        immortalityTriggers = registry.counter("kingdoms_immortality_triggers_total",
+                "Deaths prevented by immortality", null);
+        saveDuration = registry.histogram("kingdoms_yaml_save_seconds",
+                "Duration of YAML data file saves", "file", SAVE_BUCKETS);
+        joinDuration = registry.histogram("kingdoms_join_pipeline_seconds",
+                "Duration of the join pipeline per player", null, JOIN_BUCKETS);
+
+        registry.labeledGauge("kingdoms_ghosts_active",
+                "Active ghosts per kingdom", "kingdom", this::countGhostsPerKingdom);
+        registry.gauge("kingdoms_immortality_active",
+                "Players with an active immortality effect", () -> {
+                    ImmortalityManager immortality = plugin.getImmortalityManager();
+                    return immortality != null ? immortality.getActiveCount() : 0;
+                });
+        registry.counterFunction("kingdoms_ghost_game_events_total",
+                "Game events seen while ghosts are online, by result", "result", () -> {
+                    GhostGameEventListener listener = plugin.getGhostGameEventListener();
+                    if (listener == null) {
+                        return Map.of();
+                    }
+                    return Map.of("suppressed", listener.getSuppressedCount(), "passed", listener.getPassedCount());
+                });
+        registry.counterFunction("kingdoms_scheduler_tasks_total",
+                "Tasks submitted to the Folia schedulers", "scheduler", KingdomsMetrics::schedulerCounts);
+    }
+
+    private Map<String, Integer> countGhostsPerKingdom() {
+        Map<String, Integer> counts = new HashMap<>();
+        for (String kingdomId : KingdomManager.ALL_KINGDOMS) {
+            counts.put(kingdomId, 0);
+        }
+
+        GhostManager ghostManager = plugin.getGhostManager();
+        if (ghostManager != null) {
+            for (GhostState ghost : ghostManager.getAllGhosts().values()) {
+                String kingdomId = ghost.getKingdomId() != null ? ghost.getKingdomId() : "none";
+                counts.merge(kingdomId, 1, Integer::sum);
+            }
+        }
+        return counts;
+    }
+
+    private static Map<String, Long> schedulerCounts() {
+        Map<String, Long> counts = new HashMap<>();
+        for (Map.Entry<FoliaUtil.Scheduler, Long> entry : FoliaUtil.getScheduledCounts().entrySet()) {
+            counts.put(entry.getKey().name().toLowerCase(Locale.ROOT), entry.getValue());
+        }
+        return counts;
+    }
+
+    // === HTTP endpoint ===
+
+    /**
+     * Starts or stops the HTTP endpoint according to config.
+     */
+    public void load() {
+        stop();
+
+        if (!plugin.getConfig().getBoolean("metrics.http.enabled", false)) {
+            return;
+        }
+
+        int port = plugin.getConfig().getInt("metrics.http.port", 9464);
+        try {
+            httpServer = new MetricsHttpServer(registry, port);
+            httpServer.start();
+            plugin.getLogger().info("Metrics endpoint started on http://127.0.0.1:" + port + "/metrics");
+        } catch (IOException e) {
+            httpServer = null;
+            plugin.getLogger().warning("Failed to start metrics endpoint on port " + port + ": " + e.getMessage());
+        }
+    }
+
+    public void stop() {
+        if (httpServer != null) {
+            httpServer.stop();
+            httpServer = null;
+        }
+    }
+
+    public boolean isHttpRunning() {
+        return httpServer != null;
+    }
+
+    // === Recording ===
+
+    /**
+     * @param relation "ally", "enemy" or "teamless"
+     */
+    public void recordDamage(String relation) {
+        damageEvents.inc(relation);
+    }
+
+    public void recordResurrection() {
+        resurrections.inc();
+    }
+
+    public void recordBuyback() {
+        buybacks.inc();
+    }
+
+    public void recordImmortalityTrigger() {
+        immortalityTriggers.inc();
+    }
+
+    /**
+     * Records a data file save that started at the given System.nanoTime().
+     */
+    public void recordSave(String file, long startNanos) {
+        saveDuration.observeSince(file, startNanos);
+    }
+
+    /**
+     * Records a join pipeline run that started at the given System.nanoTime().
+     */
+    public void recordJoin(long startNanos) {
+        joinDuration.observeSince(startNanos);
+    }
+
+    /**
+     * Renders all metrics in the Prometheus text format.
+     */
+    public String scrape() {
+        return registry.scrape();
+    }
+}
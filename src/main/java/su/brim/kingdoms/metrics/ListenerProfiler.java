@@ -0,0 +1,235 @@
+package su.brim.kingdoms.metrics;
+
+import su.brim.kingdoms.KingdomsAddon;
+import org.bukkit.Bukkit;
+import org.bukkit.event.Event;
+import org.bukkit.event.EventException;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.Listener;
+import org.bukkit.plugin.EventExecutor;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Registers the plugin's listeners and, if "profiling.enabled" is set, wraps every
+ * event handler with a nanoTime measurement. Durations go into log-linear histograms
+ * per handler and per thread (region threads on Folia), reported by /kingdoms profile.
+ * With profiling disabled listeners are registered the usual way, without any overhead.
+ */
+public class ListenerProfiler {
+
+    // Log-linear buckets: 4 per power of two (~12% resolution) up to 2^63 ns
+    private static final int SUB_BUCKETS = 4;
+    private static final int BUCKET_COUNT = SUB_BUCKETS + 61 * SUB_BUCKETS;
+
+    /**
+     * Duration histogram of one handler on one thread.
+     */
+    public static final class Timings {
+        private final AtomicLongArray buckets = new AtomicLongArray(BUCKET_COUNT);
+
+        void record(long nanos) {
+            buckets.incrementAndGet(bucketIndex(nanos));
+        }
+
+        void addTo(long[] counts) {
+            for (int i = 0; i < BUCKET_COUNT; i++) {
+                counts[i] += buckets.get(i);
+            }
+        }
+    }
+
+    /**
+     * Statistics of one event handler.
+     */
+    public static final class HandlerStats {
+        private final String name;
+        private final Map<String, Timings> byThread = new ConcurrentHashMap<>();
+
+        HandlerStats(String name) {
+            this.name = name;
+        }
+
+        void record(long nanos) {
+            byThread.computeIfAbsent(Thread.currentThread().getName(), t -> new Timings()).record(nanos);
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        /**
+         * Gets the merged summary of all threads.
+         */
+        public Summary summarize() {
+            return Summary.of(byThread.values());
+        }
+
+        /**
+         * Gets a summary per thread name.
+         */
+        public Map<String, Summary> summarizeByThread() {
+            Map<String, Summary> result = new ConcurrentHashMap<>();
+            for (Map.Entry<String, Timings> entry : byThread.entrySet()) {
+                result.put(entry.getKey(), Summary.of(List.of(entry.getValue())));
+            }
+            return result;
+        }
+
+        void reset() {
+            byThread.clear();
+        }
+    }
+
+    /**
+     * Call count, total and percentile estimates of a set of histograms.
+     */
+    public record Summary(long calls, long totalNanos, long p50Nanos, long p99Nanos) {
+
+        static Summary of(Collection<Timings> timings) {
+            long[] counts = new long[BUCKET_COUNT];
+            for (Timings t : timings) {
+                t.addTo(counts);
+            }
+
+            long calls = 0;
+            long total = 0;
+            for (int i = 0; i < BUCKET_COUNT; i++) {
+                calls += counts[i];
+                total += counts[i] * bucketMidpoint(i);
+            }
+            return new Summary(calls, total, percentile(counts, calls, 0.50), percentile(counts, calls, 0.99));
+        }
+
+        private static long percentile(long[] counts, long calls, double quantile) {
+            if (calls == 0) {
+                return 0;
+            }
+            long rank = (long) Math.ceil(calls * quantile);
+            long seen = 0;
+            for (int i = 0; i < BUCKET_COUNT; i++) {
+                seen += counts[i];
+                if (seen >= rank) {
+                    return bucketMidpoint(i);
+                }
+            }
+            return bucketMidpoint(BUCKET_COUNT - 1);
+        }
+    }
+
+    private final KingdomsAddon plugin;
+    private final boolean enabled;
+    private final Map<String, HandlerStats> handlers = new ConcurrentHashMap<>();
+    private volatile long sinceNanos = System.nanoTime();
+
+    public ListenerProfiler(KingdomsAddon plugin) {
+        this.plugin = plugin;
+        // Read once: handlers are wrapped at registration, toggling needs a restart
+        this.enabled = plugin.getConfig().getBoolean("profiling.enabled", false);
+        if (enabled) {
+            plugin.getLogger().info("Listener profiling enabled, see /kingdoms profile");
+        }
+    }
+
+    /**
+     * Registers all @EventHandler methods of a listener.
+     */
+    public void register(Listener listener) {
+        if (!enabled) {
+            Bukkit.getPluginManager().registerEvents(listener, plugin);
+            return;
+        }
+
+        for (Method method : listener.getClass().getDeclaredMethods()) {
+            EventHandler annotation = method.getAnnotation(EventHandler.class);
+            if (annotation == null || method.getParameterCount() != 1 ||
+                    !Event.class.isAssignableFrom(method.getParameterTypes()[0])) {
+                continue;
+            }
+
+            Class<? extends Event> eventClass = method.getParameterTypes()[0].asSubclass(Event.class);
+            String name = listener.getClass().getSimpleName() + "." + method.getName();
+            HandlerStats stats = handlers.computeIfAbsent(name, HandlerStats::new);
+            EventExecutor executor = timed(EventExecutor.create(method, eventClass), eventClass, stats);
+
+            Bukkit.getPluginManager().registerEvent(eventClass, listener, annotation.priority(),
+                    executor, plugin, annotation.ignoreCancelled());
+        }
+    }
+
+    private static EventExecutor timed(EventExecutor delegate, Class<? extends Event> eventClass, HandlerStats stats) {
+        return (listener, event) -> {
+            // Executors also receive events of other types registered on the same handler list
+            if (!eventClass.isInstance(event)) {
+                return;
+            }
+
+            long start = System.nanoTime();
+            try {
+                delegate.execute(listener, event);
+            } finally {
+                stats.record(System.nanoTime() - start);
+            }
+        };
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Gets all profiled handlers.
+     */
+    public List<HandlerStats> getHandlers() {
+        return new ArrayList<>(handlers.values());
+    }
+
+    public HandlerStats getHandler(String name) {
+        return handlers.get(name);
+    }
+
+    /**
+     * Gets the seconds since profiling started or was last reset (for call rates).
+     */
+    public double getElapsedSeconds() {
+        return Math.max(1e-9, (System.nanoTime() - sinceNanos) / 1_000_000_000.0);
+    }
+
+    /**
+     * Clears all collected timings.
+     */
+    public void reset() {
+        for (HandlerStats stats : handlers.values()) {
+            stats.reset();
+        }
+        sinceNanos = System.nanoTime();
+    }
+
+    // === Buckets ===
+
+    static int bucketIndex(long nanos) {
+        if (nanos < SUB_BUCKETS) {
+            return (int) Math.max(0, nanos);
+        }
+        int exponent = 63 - Long.numberOfLeadingZeros(nanos);
+        int sub = (int) (nanos >>> (exponent - 2)) & (SUB_BUCKETS - 1);
+        return SUB_BUCKETS + (exponent - 2) * SUB_BUCKETS + sub;
+    }
+
+    static long bucketMidpoint(int index) {
+        if (index < SUB_BUCKETS) {
+            return index;
+        }
+        int exponent = (index - SUB_BUCKETS) / SUB_BUCKETS + 2;
+        int sub = (index - SUB_BUCKETS) % SUB_BUCKETS;
+        long lower = (long) (SUB_BUCKETS + sub) << (exponent - 2);
+        long width = 1L << (exponent - 2);
+        return lower + width / 2;
+    }
+}
@@ -0,0 +1,248 @@
+package su.brim.kingdoms.metrics;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.DoubleAdder;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Minimal metrics registry rendering the Prometheus text exposition format.
+ * Metric families have at most one label; children are created on first use.
+ * Recording is lock-free (LongAdder/DoubleAdder), so it is safe on any region thread.
+ */
+public class MetricsRegistry {
+
+    private final List<Family> families = new ArrayList<>();
+
+    /**
+     * Base of all metric families.
+     */
+    private abstract static class Family {
+        final String name;
+        final String help;
+        final String label;
+
+        Family(String name, String help, String label) {
+            this.name = name;
+            this.help = help;
+            this.label = label;
+        }
+
+        abstract String type();
+
+        abstract void write(StringBuilder out);
+
+        String labels(String value) {
+            return label == null ? "" : "{" + label + "=\"" + escape(value) + "\"}";
+        }
+    }
+
+    /**
+     * Monotonic counter.
+     */
+    public static final class Counter extends Family {
+        private final Map<String, LongAdder> children = new ConcurrentHashMap<>();
+
+        private Counter(String name, String help, String label) {
+            super(name, help, label);
+            if (label == null) {
+                // Report 0 before the first increment
+                children.put("", new LongAdder());
+            }
+        }
+
+        public void inc() {
+            inc("");
+        }
+
+        public void inc(String labelValue) {
+            children.computeIfAbsent(labelValue, k -> new LongAdder()).increment();
+        }
+
+        public long get(String labelValue) {
+            LongAdder adder = children.get(labelValue);
+            return adder != null ? adder.sum() : 0;
+        }
+
+        @Override
+        String type() {
+            return "counter";
+        }
+
+        @Override
+        void write(StringBuilder out) {
+            for (Map.Entry<String, LongAdder> entry : children.entrySet()) {
+                out.append(name).append(labels(entry.getKey())).append(' ')
+                   .append(entry.getValue().sum()).append('\n');
+            }
+        }
+    }
+
+    /**
+     * Value read from a supplier when metrics are rendered.
+     * A labeled gauge supplies one value per label value. Also used for counters
+     * that are kept elsewhere (type "counter").
+     */
+    public static final class Gauge extends Family {
+        private final String type;
+        private final Supplier<Map<String, ? extends Number>> supplier;
+
+        private Gauge(String name, String help, String label, String type,
+                      Supplier<Map<String, ? extends Number>> supplier) {
+            super(name, help, label);
+            this.type = type;
+            this.supplier = supplier;
+        }
+
+        @Override
+        String type() {
+            return type;
+        }
+
+        @Override
+        void write(StringBuilder out) {
+            for (Map.Entry<String, ? extends Number> entry : supplier.get().entrySet()) {
+                out.append(name).append(labels(entry.getKey())).append(' ')
+                   .append(entry.getValue()).append('\n');
+            }
+        }
+    }
+
+    /**
+     * Histogram of durations in seconds with fixed cumulative buckets.
+     */
+    public static final class Histogram extends Family {
+        private final double[] bounds;
+        private final Map<String, Child> children = new ConcurrentHashMap<>();
+
+        private static final class Child {
+            final LongAdder[] buckets;
+            final LongAdder count = new LongAdder();
+            final DoubleAdder sum = new DoubleAdder();
+
+            Child(int size) {
+                buckets = new LongAdder[size];
+                for (int i = 0; i < size; i++) {
+                    buckets[i] = new LongAdder();
+                }
+            }
+        }
+
+        private Histogram(String name, String help, String label, double[] bounds) {
+            super(name, help, label);
+            this.bounds = bounds;
+        }
+
+        /**
+         * Records the time elapsed since a System.nanoTime() value.
+         */
+        public void observeSince(long startNanos) {
+            observeSince("", startNanos);
+        }
+
+        public void observeSince(String labelValue, long startNanos) {
+            observe(labelValue, (System.nanoTime() - startNanos) / 1_000_000_000.0);
+        }
+
+        public void observe(String labelValue, double seconds) {
+            Child child = children.computeIfAbsent(labelValue, k -> new Child(bounds.length));
+            // Buckets are stored non-cumulative and summed up when rendered
+            for (int i = 0; i < bounds.length; i++) {
+                if (seconds <= bounds[i]) {
+                    child.buckets[i].increment();
+                    break;
+                }
+            }
+            child.count.increment();
+            child.sum.add(seconds);
+        }
+
+        @Override
+        String type() {
+            return "histogram";
+        }
+
+        @Override
+        void write(StringBuilder out) {
+            for (Map.Entry<String, Child> entry : children.entrySet()) {
+                String labelPrefix = label == null ? "" : label + "=\"" + escape(entry.getKey()) + "\",";
+                Child child = entry.getValue();
+
+                long cumulative = 0;
+                for (int i = 0; i < bounds.length; i++) {
+                    cumulative += child.buckets[i].sum();
+                    out.append(name).append("_bucket{").append(labelPrefix)
+                       .append("le=\"").append(bounds[i]).append("\"} ").append(cumulative).append('\n');
+                }
+                out.append(name).append("_bucket{").append(labelPrefix)
+                   .append("le=\"+Inf\"} ").append(child.count.sum()).append('\n');
+                out.append(name).append("_sum").append(labels(entry.getKey())).append(' ')
+                   .append(child.sum.sum()).append('\n');
+                out.append(name).append("_count").append(labels(entry.getKey())).append(' ')
+                   .append(child.count.sum()).append('\n');
+            }
+        }
+    }
+
+    // === Registration ===
+
+    public synchronized Counter counter(String name, String help, String label) {
+        return register(new Counter(name, help, label));
+    }
+
+    public synchronized Gauge gauge(String name, String help, Supplier<? extends Number> value) {
+        return register(new Gauge(name, help, null, "gauge", () -> Map.of("", value.get())));
+    }
+
+    public synchronized Gauge labeledGauge(String name, String help, String label,
+                                           Supplier<Map<String, ? extends Number>> values) {
+        return register(new Gauge(name, help, label, "gauge", values));
+    }
+
+    /**
+     * Registers a counter whose values are maintained outside the registry.
+     */
+    public synchronized Gauge counterFunction(String name, String help, String label,
+                                              Supplier<Map<String, ? extends Number>> values) {
+        return register(new Gauge(name, help, label, "counter", values));
+    }
+
+    /**
+     * @param bounds Upper bucket bounds in seconds, ascending
+     */
+    public synchronized Histogram histogram(String name, String help, String label, double... bounds) {
+        return register(new Histogram(name, help, label, bounds));
+    }
+
+    private <T extends Family> T register(T family) {
+        families.add(family);
+        return family;
+    }
+
+    // === Rendering ===
+
+    /**
+     * Renders all metrics in the Prometheus text exposition format (version 0.0.4).
+     */
+    public String scrape() {
+        List<Family> snapshot;
+        synchronized (this) {
+            snapshot = new ArrayList<>(families);
+        }
+
+        StringBuilder out = new StringBuilder(4096);
+        for (Family family : snapshot) {
+            out.append("# HELP ").append(family.name).append(' ').append(family.help).append('\n');
+            out.append("# TYPE ").append(family.name).append(' ').append(family.type()).append('\n');
+            family.write(out);
+        }
+        return out.toString();
+    }
+
+    private static String escape(String value) {
+        return value.replace("\\", "\\\\").replace("\"", "\\\"").replace("\n", "\\n");
+    }
+}
@@ -0,0 +1,162 @@
+package su.brim.kingdoms.placeholder;
+
+import su.brim.kingdoms.KingdomsAddon;
+import su.brim.kingdoms.config.ColorTable;
+import su.brim.kingdoms.ghost.GhostState;
+
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Per-player placeholder values.
+ * TAB, scoreboard and chat plugins request the same placeholders for every player many
+ * times per second, so the kingdom, color and ghost values are computed once and kept
+ * until the player's kingdom or ghost state changes. The ghost timer is formatted at most
+ * once per second. Only online players are cached, entries are dropped on quit.
+ */
+public class PlaceholderCache {
+
+    /**
+     * Values of one player. Only the ghost timer is mutable.
+     */
+    static final class Entry {
+        final String kingdomId;
+        final String kingdomName;
+        final String color;
+        final String colorLegacy;
+        final GhostState ghost;
+
+        private long timeSecond = -1;
+        private String time = "";
+
+        Entry(String kingdomId, String kingdomName, String color, String colorLegacy, GhostState ghost) {
+            this.kingdomId = kingdomId;
+            this.kingdomName = kingdomName;
+            this.color = color;
+            this.colorLegacy = colorLegacy;
+            this.ghost = ghost;
+        }
+
+        boolean isGhost() {
+            return ghost != null;
+        }
+
+        /**
+         * Gets the remaining ghost time as M:SS, reformatted at most once per second.
+         */
+        synchronized String getGhostTime() {
+            if (ghost == null) {
+                return "";
+            }
+
+            long second = System.currentTimeMillis() / 1000;
+            if (second != timeSecond) {
+                timeSecond = second;
+                time = formatTime(ghost.getRemainingTimeMs());
+            }
+            return time;
+        }
+    }
+
+    private final KingdomsAddon plugin;
+    private final Map<UUID, Entry> entries = new ConcurrentHashMap<>();
+
+    // Statistics
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder uncached = new LongAdder();
+
+    public PlaceholderCache(KingdomsAddon plugin) {
+        this.plugin = plugin;
+    }
+
+    /**
+     * Gets the cached values of a player, computing them on first request.
+     */
+    Entry get(UUID uuid) {
+        Entry entry = entries.get(uuid);
+        if (entry != null) {
+            hits.increment();
+            return entry;
+        }
+
+        // computeIfAbsent, so an invalidation during the computation is not lost
+        return entries.computeIfAbsent(uuid, key -> {
+            misses.increment();
+            return compute(key);
+        });
+    }
+
+    /**
+     * Computes the values of an offline player (leaderboards, chat history) without caching them:
+     * entries are only dropped on quit, which never comes for a player who isn't online.
+     */
+    Entry getUncached(UUID uuid) {
+        uncached.increment();
+        return compute(uuid);
+    }
+
+    private Entry compute(UUID uuid) {
+        String kingdomId = plugin.getKingdomManager().getPlayerKingdomId(uuid);
+        GhostState ghost = plugin.getGhostManager() != null ? plugin.getGhostManager().getGhostState(uuid) : null;
+
+        if (kingdomId == null) {
+            return new Entry("", "", "", "", ghost);
+        }
+
+        ColorTable colors = plugin.getConfigManager().getColorTable();
+        return new Entry(kingdomId, colors.getDisplayName(kingdomId), colors.getHex(kingdomId),
+                colors.getLegacy(kingdomId), ghost);
+    }
+
+    /**
+     * Drops the cached values of a player (kingdom or ghost state changed, quit).
+     */
+    public void invalidate(UUID uuid) {
+        entries.remove(uuid);
+    }
+
+    /**
+     * Drops all cached values (config reload).
+     */
+    public void invalidateAll() {
+        entries.clear();
+    }
+
+    // === Statistics ===
+
+    public int getSize() {
+        return entries.size();
+    }
+
+    public long getHitCount() {
+        return hits.sum();
+    }
+
+    public long getMissCount() {
+        return misses.sum();
+    }
+
+    /**
+     * Gets the number of requests for offline players, which bypass the cache.
+     */
+    public long getUncachedCount() {
+        return uncached.sum();
+    }
+
+    // === Formatting ===
+
+    static String formatTime(long remainingMs) {
+        if (remainingMs <= 0) {
+            return "0:00";
+        }
+
+        long totalSeconds = remainingMs / 1000;
+        long minutes = totalSeconds / 60;
+        long seconds = totalSeconds % 60;
+
+        return minutes + (seconds < 10 ? ":0" : ":") + seconds;
+    }
+}
@@ -1,17 +1,18 @@
 package su.brim.kingdoms.team;
 
 import su.brim.kingdoms.KingdomsAddon;
-import su.brim.kingdoms.api.KingdomsAPI;
-import su.brim.kingdoms.manager.KingdomManager;
+import su.brim.kingdoms.util.DebugCategory;
 import su.brim.kingdoms.util.FoliaUtil;
-import net.kyori.adventure.text.format.NamedTextColor;
 import net.kyori.adventure.text.format.TextColor;
 import org.bukkit.Bukkit;
 import org.bukkit.entity.Player;
 
-import java.util.HashMap;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
 
 /**
  * Manages team colors for players - nametags above head only.
@@ -22,12 +23,30 @@ public class TeamColorManager {
     
     private final KingdomsAddon plugin;
     
-    // Cache for kingdom colors parsed to TextColor
-    private final Map<String, TextColor> kingdomColors = new HashMap<>();
+    // Players updated per tick when updating everyone (startup, reload)
+    private static final int UPDATE_BATCH_SIZE = 20;
+    
+    // Nametag without prefix and suffix (TAB defaults)
+    private static final Nametag CLEARED = new Nametag(null, null);
+    
+    private record Nametag(String prefix, String suffix) {}
+    
+    // Nametag sent to TAB and the TabPlayer it was sent to (Object, so the class loads without TAB)
+    private record Applied(Object tabPlayer, Nametag nametag) {}
     
     // TAB plugin integration
     private boolean tabPluginPresent = false;
     
+    // TabLoadEvent handler registered with TAB's event bus, null if not registered
+    private Object tabLoadHandler;
+    
+    // Player UUID -> nametag last sent to TAB
+    private final Map<UUID, Applied> appliedNametags = new ConcurrentHashMap<>();
+    
+    // Statistics
+    private final LongAdder sentUpdates = new LongAdder();
+    private final LongAdder skippedUpdates = new LongAdder();
+    
     public TeamColorManager(KingdomsAddon plugin) {
         this.plugin = plugin;
         
@@ -35,36 +54,14 @@ public class TeamColorManager {
         tabPluginPresent = Bukkit.getPluginManager().getPlugin("TAB") != null;
         if (tabPluginPresent) {
             plugin.getLogger().info("TAB plugin detected! Using TAB API for nametag colors above head.");
+            registerTabLoadHandler();
         } else {
             plugin.getLogger().info("TAB plugin not found. Nametag colors will not be applied.");
             plugin.getLogger().info("Install TAB plugin for colored nametags above player heads.");
         }
         
-        // Load kingdom colors
-        loadKingdomColors();
-        
         // Update all online players after a delay
-        FoliaUtil.runGlobalDelayed(plugin, () -> {
-            for (Player player : Bukkit.getOnlinePlayers()) {
-                updatePlayer(player);
-            }
-        }, 20L);
-    }
-    
-    /**
-     * Loads kingdom colors from config.
-     */
-    private void loadKingdomColors() {
-        kingdomColors.clear();
-        
-        for (String kingdomId : KingdomManager.ALL_KINGDOMS) {
-            String colorHex = plugin.getConfigManager().getKingdomColor(kingdomId);
-            TextColor color = TextColor.fromHexString(colorHex);
-            if (color == null) {
-                color = NamedTextColor.WHITE;
-            }
-            kingdomColors.put(kingdomId, color);
-        }
+        FoliaUtil.runGlobalDelayed(plugin, this::updateAll, 20L);
     }
     
     /**
@@ -75,113 +72,134 @@ public class TeamColorManager {
         UUID uuid = player.getUniqueId();
         
         // Check if admin - admins don't get team colors
-        if (player.hasPermission(KingdomsAPI.ADMIN_PERMISSION)) {
-            plugin.debug("Player " + player.getName() + " is admin, no nametag color applied");
-            clearNametagFormatting(player);
+        if (plugin.getAdminCache().isAdmin(player)) {
+            plugin.debug(DebugCategory.GENERAL, () -> "Player " + player.getName() + " is admin, no nametag color applied");
+            applyNametag(player, CLEARED);
             return;
         }
         
-        // Check if ghost
+        // Check if ghost - gray italic with skull symbol
         if (plugin.getGhostManager() != null && plugin.getGhostManager().isGhost(uuid)) {
-            updateNametagForGhost(player);
+            applyNametag(player, new Nametag(plugin.getConfigManager().getColorTable().getGhostPrefix(), ""));
             return;
         }
         
         // Get kingdom
         String kingdomId = plugin.getKingdomManager().getPlayerKingdomId(uuid);
         if (kingdomId == null) {
-            plugin.debug("Player " + player.getName() + " has no kingdom, no nametag color applied");
-            clearNametagFormatting(player);
+            plugin.debug(DebugCategory.GENERAL, () -> "Player " + player.getName() + " has no kingdom, no nametag color applied");
+            applyNametag(player, CLEARED);
             return;
         }
         
-        // Update nametag for kingdom
-        updateNametagForKingdom(player, kingdomId);
+        // Kingdom color as hex
+        applyNametag(player, new Nametag(plugin.getConfigManager().getKingdomColor(kingdomId), ""));
     }
     
     /**
-     * Clears nametag formatting for a player.
+     * Updates all online players, a few per tick.
      */
-    private void clearNametagFormatting(Player player) {
-        if (!tabPluginPresent) return;
-        
-        try {
-            me.neznamy.tab.api.TabAPI api = me.neznamy.tab.api.TabAPI.getInstance();
-            if (api != null) {
-                me.neznamy.tab.api.TabPlayer tabPlayer = api.getPlayer(player.getUniqueId());
-                if (tabPlayer != null) {
-                    var nameTagManager = api.getNameTagManager();
-                    
-                    if (nameTagManager != null) {
-                        nameTagManager.setPrefix(tabPlayer, null);
-                        nameTagManager.setSuffix(tabPlayer, null);
+    public void updateAll() {
+        List<Player> players = new ArrayList<>(Bukkit.getOnlinePlayers());
+        for (int start = 0; start < players.size(); start += UPDATE_BATCH_SIZE) {
+            List<Player> batch = players.subList(start, Math.min(start + UPDATE_BATCH_SIZE, players.size()));
+            long delay = 1L + start / UPDATE_BATCH_SIZE;
+            FoliaUtil.runGlobalDelayed(plugin, () -> {
+                for (Player player : batch) {
+                    if (player.isOnline()) {
+                        updatePlayer(player);
                     }
                 }
-            }
+            }, delay);
+        }
+    }
+    
+    /**
+     * Re-sends all nametags whenever TAB (re)loads: /tab reload recreates every TabPlayer
+     * and drops the prefixes set through the API.
+     */
+    private void registerTabLoadHandler() {
+        try {
+            me.neznamy.tab.api.TabAPI api = me.neznamy.tab.api.TabAPI.getInstance();
+            if (api == null || api.getEventBus() == null) return;
+            
+            me.neznamy.tab.api.event.EventHandler<me.neznamy.tab.api.event.plugin.TabLoadEvent> handler = event -> {
+                plugin.debug(DebugCategory.GENERAL, "TAB reloaded, re-sending nametags");
+                appliedNametags.clear();
+                updateAll();
+            };
+            api.getEventBus().register(me.neznamy.tab.api.event.plugin.TabLoadEvent.class, handler);
+            tabLoadHandler = handler;
         } catch (NoClassDefFoundError | Exception e) {
-            // TAB API not available or error - ignore
-            plugin.debug("TAB API error: " + e.getMessage());
+            plugin.getLogger().warning("Failed to listen for TAB reloads: " + e.getMessage());
         }
     }
     
     /**
-     * Updates nametag for a ghost player.
+     * Unregisters the TabLoadEvent handler, if registered.
      */
-    private void updateNametagForGhost(Player player) {
-        if (!tabPluginPresent) return;
+    @SuppressWarnings("unchecked")
+    private void unregisterTabLoadHandler() {
+        if (tabLoadHandler == null) return;
         
         try {
             me.neznamy.tab.api.TabAPI api = me.neznamy.tab.api.TabAPI.getInstance();
-            if (api != null) {
-                me.neznamy.tab.api.TabPlayer tabPlayer = api.getPlayer(player.getUniqueId());
-                if (tabPlayer != null) {
-                    // Ghost formatting - gray italic with skull symbol
-                    String ghostPrefix = plugin.getConfig().getString("team-colors.ghost-prefix", "§7§o☠ ");
-                    
-                    var nameTagManager = api.getNameTagManager();
-                    
-                    if (nameTagManager != null) {
-                        nameTagManager.setPrefix(tabPlayer, ghostPrefix);
-                        nameTagManager.setSuffix(tabPlayer, "");
-                    }
-                    
-                    plugin.debug("Set ghost nametag for " + player.getName());
-                }
+            if (api != null && api.getEventBus() != null) {
+                api.getEventBus().unregister(
+                        (me.neznamy.tab.api.event.EventHandler<me.neznamy.tab.api.event.plugin.TabLoadEvent>) tabLoadHandler);
             }
         } catch (NoClassDefFoundError | Exception e) {
-            plugin.debug("TAB API error: " + e.getMessage());
+            plugin.debug(DebugCategory.GENERAL, () -> "TAB API error: " + e.getMessage());
         }
+        tabLoadHandler = null;
     }
     
     /**
-     * Updates nametag for a kingdom player.
+     * Sends a nametag to TAB unless it is the one the player already has.
+     * Every TAB call resends team packets to all viewers, so unchanged nametags are skipped.
+     * A nametag only counts as applied to the TabPlayer it was sent to: TAB creates a new
+     * TabPlayer on reload or rejoin, and the new one starts without our prefix.
      */
-    private void updateNametagForKingdom(Player player, String kingdomId) {
+    private void applyNametag(Player player, Nametag nametag) {
         if (!tabPluginPresent) return;
         
+        UUID uuid = player.getUniqueId();
         try {
             me.neznamy.tab.api.TabAPI api = me.neznamy.tab.api.TabAPI.getInstance();
             if (api != null) {
-                me.neznamy.tab.api.TabPlayer tabPlayer = api.getPlayer(player.getUniqueId());
+                me.neznamy.tab.api.TabPlayer tabPlayer = api.getPlayer(uuid);
                 if (tabPlayer != null) {
-                    // Get kingdom color as hex
-                    String colorHex = plugin.getConfigManager().getKingdomColor(kingdomId);
+                    Applied applied = appliedNametags.get(uuid);
+                    if (applied != null && applied.tabPlayer() == tabPlayer && applied.nametag().equals(nametag)) {
+                        skippedUpdates.increment();
+                        return;
+                    }
                     
                     var nameTagManager = api.getNameTagManager();
                     
                     if (nameTagManager != null) {
-                        nameTagManager.setPrefix(tabPlayer, colorHex);
-                        nameTagManager.setSuffix(tabPlayer, "");
+                        nameTagManager.setPrefix(tabPlayer, nametag.prefix());
+                        nameTagManager.setSuffix(tabPlayer, nametag.suffix());
+                        appliedNametags.put(uuid, new Applied(tabPlayer, nametag));
+                        sentUpdates.increment();
                     }
                     
-                    plugin.debug("Set kingdom nametag for " + player.getName() + " (" + kingdomId + ")");
+                    plugin.debug(DebugCategory.GENERAL, () -> "Set nametag for " + player.getName() + ": " + nametag);
                 }
             }
         } catch (NoClassDefFoundError | Exception e) {
-            plugin.debug("TAB API error: " + e.getMessage());
+            // TAB API not available or error - ignore
+            plugin.debug(DebugCategory.GENERAL, () -> "TAB API error: " + e.getMessage());
         }
     }
     
+    /**
+     * Forgets the nametag sent for a player (on quit, TAB drops it as well).
+     */
+    public void forgetPlayer(UUID uuid) {
+        appliedNametags.remove(uuid);
+    }
+    
     /**
      * Gets the color prefix for a player (for PlaceholderAPI).
      * Returns hex color format or ghost prefix.
@@ -193,13 +211,13 @@ public class TeamColorManager {
         UUID uuid = player.getUniqueId();
         
         // Admin - no color
-        if (player.hasPermission(KingdomsAPI.ADMIN_PERMISSION)) {
+        if (plugin.getAdminCache().isAdmin(player)) {
             return "";
         }
         
         // Ghost
         if (plugin.getGhostManager() != null && plugin.getGhostManager().isGhost(uuid)) {
-            return plugin.getConfig().getString("team-colors.ghost-prefix", "§7§o☠ ");
+            return plugin.getConfigManager().getColorTable().getGhostPrefix();
         }
         
         // Kingdom
@@ -220,65 +238,47 @@ public class TeamColorManager {
         UUID uuid = player.getUniqueId();
         
         // Admin - no color
-        if (player.hasPermission(KingdomsAPI.ADMIN_PERMISSION)) {
+        if (plugin.getAdminCache().isAdmin(player)) {
             return "";
         }
         
         // Ghost
         if (plugin.getGhostManager() != null && plugin.getGhostManager().isGhost(uuid)) {
-            return plugin.getConfig().getString("team-colors.ghost-prefix", "§7§o☠ ");
+            return plugin.getConfigManager().getColorTable().getGhostPrefix();
         }
         
         // Kingdom
         String kingdomId = plugin.getKingdomManager().getPlayerKingdomId(uuid);
         if (kingdomId != null) {
-            TextColor color = kingdomColors.get(kingdomId);
-            if (color != null) {
-                return convertToLegacyColor(color);
-            }
+            return plugin.getConfigManager().getColorTable().getLegacy(kingdomId);
         }
         
         return "";
     }
     
-    /**
-     * Converts a TextColor to legacy Minecraft color format.
-     */
-    private String convertToLegacyColor(TextColor color) {
-        if (color == null) {
-            return "";
-        }
-        
-        // Convert hex color to §x§R§R§G§G§B§B format
-        String hex = color.asHexString().substring(1); // Remove #
-        StringBuilder sb = new StringBuilder("§x");
-        for (char c : hex.toCharArray()) {
-            sb.append("§").append(c);
-        }
-        return sb.toString();
-    }
-    
     /**
      * Reloads configuration and updates all players.
      */
     public void reload() {
-        loadKingdomColors();
-        
-        for (Player player : Bukkit.getOnlinePlayers()) {
-            updatePlayer(player);
-        }
+        // Colors are rebuilt by ConfigManager, only nametags need updating.
+        // Re-send everything: TAB may have dropped our prefixes (group change)
+        appliedNametags.clear();
+        updateAll();
     }
     
     /**
      * Cleans up when plugin is disabled.
      */
     public void cleanup() {
+        unregisterTabLoadHandler();
+        
         // Clear nametag formatting for all players
         if (tabPluginPresent) {
             for (Player player : Bukkit.getOnlinePlayers()) {
-                clearNametagFormatting(player);
+                applyNametag(player, CLEARED);
             }
         }
+        appliedNametags.clear();
     }
     
     /**
@@ -287,7 +287,7 @@ public class TeamColorManager {
      * @return TextColor, or null if kingdom not found
      */
     public TextColor getKingdomColor(String kingdomId) {
-        return kingdomColors.get(kingdomId);
+        return plugin.getConfigManager().getColorTable().getTextColor(kingdomId);
     }
     
     /**
@@ -297,4 +297,18 @@ public class TeamColorManager {
     public boolean isTabPluginPresent() {
         return tabPluginPresent;
     }
+    
+    /**
+     * Gets the number of nametag updates sent to TAB.
+     */
+    public long getSentUpdateCount() {
+        return sentUpdates.sum();
+    }
+    
+    /**
+     * Gets the number of nametag updates skipped because nothing changed.
+     */
+    public long getSkippedUpdateCount() {
+        return skippedUpdates.sum();
+    }
 }
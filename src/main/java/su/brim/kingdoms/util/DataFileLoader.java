@@ -0,0 +1,93 @@
+package su.brim.kingdoms.util;
+
+import org.bukkit.configuration.file.YamlConfiguration;
+import org.bukkit.plugin.Plugin;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Parses the plugin's YAML data files in parallel during startup.
+ * Files are submitted with {@link #preload} before the managers are created;
+ * managers then get the already parsed configuration from {@link #load} instead
+ * of parsing it themselves. Outside of startup (reloads) files are parsed directly.
+ */
+public final class DataFileLoader {
+
+    private record Timing(String name, long nanos) {}
+
+    private final Plugin plugin;
+    private final Map<File, CompletableFuture<YamlConfiguration>> pending = new ConcurrentHashMap<>();
+    private final List<Timing> timings = new ArrayList<>();
+    private volatile boolean startup = true;
+    private long startNanos;
+
+    public DataFileLoader(Plugin plugin) {
+        this.plugin = plugin;
+    }
+
+    /**
+     * Starts parsing data files (relative to the data folder) on the fork-join pool.
+     * Missing files are skipped, their owners create them as before.
+     */
+    public void preload(List<String> paths) {
+        startNanos = System.nanoTime();
+        for (String path : paths) {
+            File file = new File(plugin.getDataFolder(), path);
+            if (!file.exists()) continue;
+
+            pending.put(file, CompletableFuture.supplyAsync(() -> parse(path, file), ForkJoinPool.commonPool()));
+        }
+    }
+
+    /**
+     * Gets the parsed configuration of a data file.
+     * Returns the preloaded result during startup, otherwise parses the file now.
+     */
+    public YamlConfiguration load(File file) {
+        CompletableFuture<YamlConfiguration> future = pending.remove(file);
+        if (future != null) {
+            return future.join();
+        }
+        return startup ? parse(file.getName(), file) : YamlConfiguration.loadConfiguration(file);
+    }
+
+    private YamlConfiguration parse(String name, File file) {
+        long start = System.nanoTime();
+        YamlConfiguration config = YamlConfiguration.loadConfiguration(file);
+        long elapsed = System.nanoTime() - start;
+        synchronized (timings) {
+            timings.add(new Timing(name, elapsed));
+        }
+        return config;
+    }
+
+    /**
+     * Waits for files nobody has picked up yet and reports load times.
+     * Called once before listeners are registered.
+     */
+    public void finishStartup() {
+        for (CompletableFuture<YamlConfiguration> future : pending.values()) {
+            future.join();
+        }
+        pending.clear();
+        startup = false;
+
+        long total = System.nanoTime() - startNanos;
+        StringBuilder sb = new StringBuilder("Loaded data files in ")
+                .append(total / 1_000_000).append("ms:");
+        synchronized (timings) {
+            for (Timing timing : timings) {
+                sb.append(' ').append(timing.name()).append('=')
+                  .append(String.format("%.1f", timing.nanos() / 1_000_000.0)).append("ms");
+            }
+            timings.clear();
+        }
+        plugin.getLogger().info(sb.toString());
+    }
+}
@@ -0,0 +1,37 @@
+package su.brim.kingdoms.util;
+
+/**
+ * Subsystems that can be debugged independently.
+ * Each category maps to a key in the "debug-subsystems" config section.
+ */
+public enum DebugCategory {
+
+    GENERAL("general"),
+    DAMAGE("damage"),
+    GHOST("ghost"),
+    ALTAR("altar"),
+    JOIN("join"),
+    RESPAWN("respawn");
+
+    private final String configKey;
+    private final int mask;
+
+    DebugCategory(String configKey) {
+        this.configKey = configKey;
+        this.mask = 1 << ordinal();
+    }
+
+    /**
+     * Gets the config key of this category (inside "debug-subsystems").
+     */
+    public String getConfigKey() {
+        return configKey;
+    }
+
+    /**
+     * Gets the bit of this category in the debug mask.
+     */
+    public int getMask() {
+        return mask;
+    }
+}
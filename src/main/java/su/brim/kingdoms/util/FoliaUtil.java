@@ -6,7 +6,10 @@ import org.bukkit.entity.Entity;
 import org.bukkit.entity.Player;
 import org.bukkit.plugin.Plugin;
 
+import java.util.EnumMap;
+import java.util.Map;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.LongAdder;
 import java.util.function.Consumer;
 
 /**
@@ -15,10 +18,42 @@ import java.util.function.Consumer;
  */
 public final class FoliaUtil {
     
+    /**
+     * Scheduler a task was submitted to (for metrics).
+     */
+    public enum Scheduler {
+        ENTITY, REGION, ASYNC, GLOBAL
+    }
+    
+    // Number of submitted tasks per scheduler, indexed by Scheduler ordinal
+    private static final LongAdder[] SCHEDULED = new LongAdder[Scheduler.values().length];
+    
+    static {
+        for (int i = 0; i < SCHEDULED.length; i++) {
+            SCHEDULED[i] = new LongAdder();
+        }
+    }
+    
     private FoliaUtil() {
         // Utility class
     }
     
+    private static void count(Scheduler scheduler) {
+        SCHEDULED[scheduler.ordinal()].increment();
+    }
+    
+    /**
+     * Gets the number of tasks submitted through this class per scheduler.
+     * Repeating tasks count once.
+     */
+    public static Map<Scheduler, Long> getScheduledCounts() {
+        Map<Scheduler, Long> counts = new EnumMap<>(Scheduler.class);
+        for (Scheduler scheduler : Scheduler.values()) {
+            counts.put(scheduler, SCHEDULED[scheduler.ordinal()].sum());
+        }
+        return counts;
+    }
+    
     /**
      * Teleports an entity asynchronously using Folia's teleportAsync.
      * 
@@ -39,6 +74,7 @@ public final class FoliaUtil {
      * @param task The task to run
      */
     public static void runOnEntity(Plugin plugin, Entity entity, Runnable task) {
+        count(Scheduler.ENTITY);
         entity.getScheduler().run(plugin, scheduledTask -> task.run(), null);
     }
     
@@ -51,6 +87,7 @@ public final class FoliaUtil {
      * @param delayTicks Delay in ticks
      */
     public static void runDelayed(Plugin plugin, Entity entity, Runnable task, long delayTicks) {
+        count(Scheduler.ENTITY);
         entity.getScheduler().runDelayed(plugin, scheduledTask -> task.run(), null, delayTicks);
     }
     
@@ -62,6 +99,7 @@ public final class FoliaUtil {
      * @param task The task to run
      */
     public static void runAtLocation(Plugin plugin, Location location, Runnable task) {
+        count(Scheduler.REGION);
         Bukkit.getRegionScheduler().run(plugin, location, scheduledTask -> task.run());
     }
     
@@ -74,6 +112,7 @@ public final class FoliaUtil {
      * @param delayTicks Delay in ticks
      */
     public static void runAtLocationDelayed(Plugin plugin, Location location, Runnable task, long delayTicks) {
+        count(Scheduler.REGION);
         Bukkit.getRegionScheduler().runDelayed(plugin, location, scheduledTask -> task.run(), delayTicks);
     }
     
@@ -87,6 +126,7 @@ public final class FoliaUtil {
      * @param periodTicks Period between executions in ticks
      */
     public static void runAtLocationRepeating(Plugin plugin, Location location, Runnable task, long initialDelayTicks, long periodTicks) {
+        count(Scheduler.REGION);
         Bukkit.getRegionScheduler().runAtFixedRate(plugin, location, scheduledTask -> task.run(), initialDelayTicks, periodTicks);
     }
     
@@ -97,6 +137,7 @@ public final class FoliaUtil {
      * @param task The task to run
      */
     public static void runAsync(Plugin plugin, Runnable task) {
+        count(Scheduler.ASYNC);
         Bukkit.getAsyncScheduler().runNow(plugin, scheduledTask -> task.run());
     }
     
@@ -110,10 +151,26 @@ public final class FoliaUtil {
     public static void runAsyncDelayed(Plugin plugin, Runnable task, long delayTicks) {
         // Convert ticks to milliseconds (1 tick = 50ms)
         long delayMs = delayTicks * 50;
+        count(Scheduler.ASYNC);
         Bukkit.getAsyncScheduler().runDelayed(plugin, scheduledTask -> task.run(), 
                 delayMs, java.util.concurrent.TimeUnit.MILLISECONDS);
     }
     
+    /**
+     * Runs a task asynchronously at a fixed rate.
+     * 
+     * @param plugin The plugin
+     * @param task The task to run
+     * @param initialDelayTicks Initial delay in ticks (converted to milliseconds)
+     * @param periodTicks Period in ticks (converted to milliseconds)
+     */
+    public static void runAsyncRepeating(Plugin plugin, Runnable task, long initialDelayTicks, long periodTicks) {
+        // Convert ticks to milliseconds (1 tick = 50ms)
+        count(Scheduler.ASYNC);
+        Bukkit.getAsyncScheduler().runAtFixedRate(plugin, scheduledTask -> task.run(),
+                initialDelayTicks * 50, periodTicks * 50, java.util.concurrent.TimeUnit.MILLISECONDS);
+    }
+    
     /**
      * Runs a task on the global region (for global operations like world time).
      * 
@@ -121,6 +178,7 @@ public final class FoliaUtil {
      * @param task The task to run
      */
     public static void runGlobal(Plugin plugin, Runnable task) {
+        count(Scheduler.GLOBAL);
         Bukkit.getGlobalRegionScheduler().run(plugin, scheduledTask -> task.run());
     }
     
@@ -132,6 +190,7 @@ public final class FoliaUtil {
      * @param delayTicks Delay in ticks
      */
     public static void runGlobalDelayed(Plugin plugin, Runnable task, long delayTicks) {
+        count(Scheduler.GLOBAL);
         Bukkit.getGlobalRegionScheduler().runDelayed(plugin, scheduledTask -> task.run(), delayTicks);
     }
     
@@ -166,6 +225,7 @@ public final class FoliaUtil {
      */
     public static void runRepeatingOnEntity(Plugin plugin, Entity entity, Consumer<Runnable> task, 
                                             long initialDelayTicks, long periodTicks) {
+        count(Scheduler.ENTITY);
         entity.getScheduler().runAtFixedRate(plugin, scheduledTask -> {
             task.accept(() -> scheduledTask.cancel());
         }, null, initialDelayTicks, periodTicks);
@@ -180,6 +240,7 @@ public final class FoliaUtil {
      * @param periodTicks Period in ticks
      */
     public static void runGlobalRepeating(Plugin plugin, Runnable task, long initialDelayTicks, long periodTicks) {
+        count(Scheduler.GLOBAL);
         Bukkit.getGlobalRegionScheduler().runAtFixedRate(plugin, scheduledTask -> task.run(), initialDelayTicks, periodTicks);
     }
 }
@@ -0,0 +1,105 @@
+package su.brim.kingdoms.util;
+
+import org.bukkit.Bukkit;
+import org.bukkit.Location;
+import org.bukkit.World;
+import org.bukkit.persistence.PersistentDataAdapterContext;
+import org.bukkit.persistence.PersistentDataType;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.nio.ByteBuffer;
+import java.util.UUID;
+
+/**
+ * Stores a Location in a PersistentDataContainer as a fixed-layout byte array:
+ * version (1) + world UUID (16) + x, y, z (3 x 8) + yaw, pitch (2 x 4) = 49 bytes.
+ * The world is referenced by UUID, so renaming a world folder doesn't break stored locations.
+ * Reading a malformed value or a location whose world is not loaded throws
+ * IllegalArgumentException, as the PersistentDataType contract doesn't allow null.
+ */
+public final class LocationDataType implements PersistentDataType<byte[], Location> {
+
+    public static final LocationDataType INSTANCE = new LocationDataType();
+
+    private static final byte VERSION = 1;
+    private static final int SIZE = 1 + 16 + 3 * Double.BYTES + 2 * Float.BYTES;
+
+    private LocationDataType() {
+    }
+
+    @Override
+    public @NotNull Class<byte[]> getPrimitiveType() {
+        return byte[].class;
+    }
+
+    @Override
+    public @NotNull Class<Location> getComplexType() {
+        return Location.class;
+    }
+
+    @Override
+    public byte @NotNull [] toPrimitive(@NotNull Location location, @NotNull PersistentDataAdapterContext context) {
+        World world = location.getWorld();
+        if (world == null) {
+            throw new IllegalArgumentException("Location has no world");
+        }
+
+        UUID worldId = world.getUID();
+        return ByteBuffer.allocate(SIZE)
+                .put(VERSION)
+                .putLong(worldId.getMostSignificantBits())
+                .putLong(worldId.getLeastSignificantBits())
+                .putDouble(location.getX())
+                .putDouble(location.getY())
+                .putDouble(location.getZ())
+                .putFloat(location.getYaw())
+                .putFloat(location.getPitch())
+                .array();
+    }
+
+    @Override
+    public @NotNull Location fromPrimitive(byte @NotNull [] bytes, @NotNull PersistentDataAdapterContext context) {
+        if (bytes.length != SIZE) {
+            throw new IllegalArgumentException("Location value has " + bytes.length + " bytes, expected " + SIZE);
+        }
+        if (bytes[0] != VERSION) {
+            throw new IllegalArgumentException("Unknown location format version " + bytes[0]);
+        }
+
+        ByteBuffer buffer = ByteBuffer.wrap(bytes, 1, SIZE - 1);
+        UUID worldId = new UUID(buffer.getLong(), buffer.getLong());
+        World world = Bukkit.getWorld(worldId);
+        if (world == null) {
+            throw new IllegalArgumentException("World " + worldId + " is not loaded");
+        }
+        return new Location(world, buffer.getDouble(), buffer.getDouble(), buffer.getDouble(),
+                buffer.getFloat(), buffer.getFloat());
+    }
+
+    /**
+     * Parses the legacy "world;x;y;z;yaw;pitch" string format.
+     * Used to migrate locations written by older versions of the plugin.
+     */
+    @Nullable
+    public static Location fromLegacyString(@Nullable String str) {
+        if (str == null || str.isEmpty()) return null;
+        try {
+            String[] parts = str.split(";");
+            if (parts.length < 4) return null;
+
+            World world = Bukkit.getWorld(parts[0]);
+            if (world == null) return null;
+
+            double x = Double.parseDouble(parts[1]);
+            double y = Double.parseDouble(parts[2]);
+            double z = Double.parseDouble(parts[3]);
+            float yaw = parts.length > 4 ? Float.parseFloat(parts[4]) : 0f;
+            float pitch = parts.length > 5 ? Float.parseFloat(parts[5]) : 0f;
+
+            return new Location(world, x, y, z, yaw, pitch);
+        } catch (Exception e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,98 @@
+package su.brim.kingdoms.bench;
+
+import java.lang.management.ManagementFactory;
+import java.util.Arrays;
+import java.util.Locale;
+
+/**
+ * Minimal microbenchmark runner for the benchmark tests.
+ * An operation runs in batches: warmup batches let the JIT compile it, then the median
+ * of the measured batches is reported in ns per operation. Results of the operation are
+ * folded into a sink, so the JIT can't drop the work.
+ * <p>
+ * {@link #allocation} reports heap bytes allocated per operation in the same way.
+ * <p>
+ * Benchmark tests are tagged {@value #TAG} and only run with {@code mvn test -Pbenchmarks}.
+ * Collaborators that are Mockito stubs add their dispatch cost to every call, so compare
+ * rows of one benchmark rather than reading absolute numbers.
+ */
+public final class Bench {
+
+    public static final String TAG = "benchmark";
+
+    private static final int WARMUP_BATCHES = 20;
+    private static final int MEASURED_BATCHES = 30;
+
+    private static volatile long sink;
+
+    /**
+     * Benchmarked operation. The argument is the index within the batch,
+     * the return value is consumed by the sink.
+     */
+    @FunctionalInterface
+    public interface Op {
+        long run(int i);
+    }
+
+    private Bench() {
+    }
+
+    /**
+     * Runs an operation and prints the median time per call.
+     *
+     * @param batchSize Calls per timed batch
+     * @return median ns per call
+     */
+    public static double run(String name, int batchSize, Op op) {
+        for (int b = 0; b < WARMUP_BATCHES; b++) {
+            batch(batchSize, op);
+        }
+
+        double[] nsPerOp = new double[MEASURED_BATCHES];
+        for (int b = 0; b < MEASURED_BATCHES; b++) {
+            long start = System.nanoTime();
+            batch(batchSize, op);
+            nsPerOp[b] = (System.nanoTime() - start) / (double) batchSize;
+        }
+
+        Arrays.sort(nsPerOp);
+        double median = nsPerOp[MEASURED_BATCHES / 2];
+        System.out.printf(Locale.ROOT, "%-64s %10.1f ns/op%n", name, median);
+        return median;
+    }
+
+    /**
+     * Runs an operation and prints the median heap bytes it allocates per call on this thread.
+     * Mockito stubs allocate on every call; measure the same stub calls as a separate row
+     * and compare against it.
+     *
+     * @param batchSize Calls per measured batch
+     * @return median allocated bytes per call
+     */
+    public static double allocation(String name, int batchSize, Op op) {
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        for (int b = 0; b < WARMUP_BATCHES; b++) {
+            batch(batchSize, op);
+        }
+
+        double[] bytesPerOp = new double[MEASURED_BATCHES];
+        for (int b = 0; b < MEASURED_BATCHES; b++) {
+            long start = threads.getCurrentThreadAllocatedBytes();
+            batch(batchSize, op);
+            bytesPerOp[b] = (threads.getCurrentThreadAllocatedBytes() - start) / (double) batchSize;
+        }
+
+        Arrays.sort(bytesPerOp);
+        double median = bytesPerOp[MEASURED_BATCHES / 2];
+        System.out.printf(Locale.ROOT, "%-64s %10.1f B/op%n", name, median);
+        return median;
+    }
+
+    private static void batch(int size, Op op) {
+        long acc = 0;
+        for (int i = 0; i < size; i++) {
+            acc += op.run(i);
+        }
+        sink += acc;
+    }
+}
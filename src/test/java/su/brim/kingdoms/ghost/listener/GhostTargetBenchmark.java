@@ -0,0 +1,120 @@
+package su.brim.kingdoms.ghost.listener;
+
+import su.brim.kingdoms.KingdomsAddon;
+import su.brim.kingdoms.bench.Bench;
+import su.brim.kingdoms.ghost.GhostManager;
+import su.brim.kingdoms.util.FoliaUtil;
+import org.bukkit.Bukkit;
+import org.bukkit.configuration.file.YamlConfiguration;
+import org.bukkit.entity.Player;
+import org.bukkit.entity.Villager;
+import org.bukkit.entity.Zombie;
+import org.bukkit.event.entity.EntityTargetEvent;
+import org.bukkit.event.entity.EntityTargetLivingEntityEvent;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.MockedStatic;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.logging.Logger;
+
+import static org.mockito.Mockito.*;
+
+/**
+ * Cost of the mob targeting handler with 1,000 mobs retargeting among 50 online players,
+ * with no ghosts and with 3 ghosts. With no ghost online the ghost listener lifecycle
+ * unregisters the handler, so Bukkit doesn't call it at all; the "no ghosts" row shows
+ * what it would cost if it stayed registered. The "isGhost" rows are the check
+ * through the saved ghost index and map instead of the online ghost mark. Uses a real GhostManager loaded from ghost files
+ * (the ghosts are online, so their files are loaded and marked on construction).
+ */
+@Tag(Bench.TAG)
+class GhostTargetBenchmark {
+
+    private static final int MOBS = 1_000;
+    private static final int PLAYERS = 50;
+    private static final int GHOSTS = 3;
+
+    @TempDir
+    Path dataFolder;
+
+    @Test
+    void targetWithoutGhosts() throws IOException {
+        run("no ghosts", dataFolder.resolve("none").toFile(), 0);
+    }
+
+    @Test
+    void targetWithGhosts() throws IOException {
+        run(GHOSTS + " of " + PLAYERS + " players are ghosts", dataFolder.resolve("ghosts").toFile(), GHOSTS);
+    }
+
+    private void run(String scenario, File folder, int ghostCount) throws IOException {
+        Player[] players = new Player[PLAYERS];
+        for (int i = 0; i < PLAYERS; i++) {
+            players[i] = mock(Player.class, withSettings().stubOnly());
+            when(players[i].getUniqueId()).thenReturn(UUID.randomUUID());
+        }
+
+        KingdomsAddon plugin = plugin(folder, players, ghostCount);
+        GhostManager ghostManager = plugin.getGhostManager();
+        GhostInteractionListener listener = new GhostInteractionListener(plugin);
+
+        EntityTargetLivingEntityEvent[] playerTargets = new EntityTargetLivingEntityEvent[MOBS];
+        EntityTargetLivingEntityEvent[] mobTargets = new EntityTargetLivingEntityEvent[MOBS];
+        for (int i = 0; i < MOBS; i++) {
+            Zombie mob = mock(Zombie.class, withSettings().stubOnly());
+            playerTargets[i] = new EntityTargetLivingEntityEvent(mob, players[i % PLAYERS],
+                    EntityTargetEvent.TargetReason.CLOSEST_PLAYER);
+            mobTargets[i] = new EntityTargetLivingEntityEvent(mob, mock(Villager.class, withSettings().stubOnly()),
+                    EntityTargetEvent.TargetReason.CLOSEST_ENTITY);
+        }
+
+        Bench.run("mob target, " + scenario + ", player targets", MOBS, i -> {
+            listener.onEntityTarget(playerTargets[i]);
+            return playerTargets[i].isCancelled() ? 1 : 0;
+        });
+        Bench.run("mob target, " + scenario + ", player targets, isGhost", MOBS, i ->
+                playerTargets[i].getTarget() instanceof Player player
+                        && ghostManager.isGhost(player.getUniqueId()) ? 1 : 0);
+        Bench.run("mob target, " + scenario + ", mob targets", MOBS, i -> {
+            listener.onEntityTarget(mobTargets[i]);
+            return mobTargets[i].isCancelled() ? 1 : 0;
+        });
+    }
+
+    /**
+     * Creates a plugin with a real GhostManager whose first players are ghosts.
+     */
+    private static KingdomsAddon plugin(File folder, Player[] players, int ghostCount) throws IOException {
+        for (int i = 0; i < ghostCount; i++) {
+            String uuid = players[i].getUniqueId().toString();
+            YamlConfiguration ghost = new YamlConfiguration();
+            ghost.set("name", "Ghost" + i);
+            ghost.set("kingdom", "snow_kingdom");
+            ghost.set("death-time", System.currentTimeMillis());
+            ghost.set("duration-ms", 3_600_000L);
+            ghost.set("resurrection-cost", List.of(Map.of("material", "DIAMOND", "amount", 1)));
+            ghost.save(new File(new File(new File(folder, "ghosts"), uuid.substring(0, 2)), uuid + ".yml"));
+        }
+
+        KingdomsAddon plugin = mock(KingdomsAddon.class, withSettings().stubOnly());
+        when(plugin.getDataFolder()).thenReturn(folder);
+        when(plugin.getConfig()).thenReturn(new YamlConfiguration());
+        when(plugin.getLogger()).thenReturn(Logger.getLogger("GhostTargetBenchmark"));
+
+        // The manager loads the ghosts of online players and starts its self-resurrect checker on construction
+        try (MockedStatic<FoliaUtil> folia = mockStatic(FoliaUtil.class);
+             MockedStatic<Bukkit> bukkit = mockStatic(Bukkit.class)) {
+            bukkit.when(Bukkit::getOnlinePlayers).thenAnswer(invocation -> List.of(players));
+            GhostManager ghostManager = new GhostManager(plugin);
+            when(plugin.getGhostManager()).thenReturn(ghostManager);
+        }
+        return plugin;
+    }
+}
@@ -0,0 +1,114 @@
+package su.brim.kingdoms.ghost.listener;
+
+import su.brim.kingdoms.KingdomsAddon;
+import su.brim.kingdoms.bench.Bench;
+import su.brim.kingdoms.ghost.ImmortalityManager;
+import su.brim.kingdoms.util.DataFileLoader;
+import su.brim.kingdoms.util.FoliaUtil;
+import org.bukkit.configuration.file.YamlConfiguration;
+import org.bukkit.entity.Entity;
+import org.bukkit.entity.Player;
+import org.bukkit.entity.Zombie;
+import org.bukkit.event.entity.EntityDamageEvent;
+import org.bukkit.inventory.ItemStack;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.MockedConstruction;
+import org.mockito.MockedStatic;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.UUID;
+import java.util.logging.Logger;
+
+import static org.mockito.Mockito.*;
+
+/**
+ * Cost of the immortality damage handler on damage events, with nobody holding
+ * immortality (the common case) and with one other player holding it.
+ * The "lookup first" row is the check order before the early exit: every event
+ * looked up the damaged player in the effect map.
+ * Uses a real ImmortalityManager; only its scheduled tasks and the cost items are stubbed.
+ */
+@Tag(Bench.TAG)
+class ImmortalityListenerBenchmark {
+
+    private static final int EVENTS = 1_000;
+
+    @TempDir
+    Path dataFolder;
+
+    @Test
+    void damageWithoutImmortality() throws IOException {
+        KingdomsAddon plugin = plugin(dataFolder.resolve("none").toFile(), null);
+        run("nobody has immortality", plugin);
+    }
+
+    @Test
+    void damageWithOtherPlayerImmortal() throws IOException {
+        KingdomsAddon plugin = plugin(dataFolder.resolve("one").toFile(), UUID.randomUUID());
+        run("another player has immortality", plugin);
+    }
+
+    private void run(String scenario, KingdomsAddon plugin) {
+        ImmortalityListener listener = new ImmortalityListener(plugin);
+        ImmortalityManager immortality = plugin.getImmortalityManager();
+
+        EntityDamageEvent[] playerDamage = new EntityDamageEvent[EVENTS];
+        EntityDamageEvent[] mobDamage = new EntityDamageEvent[EVENTS];
+        for (int i = 0; i < EVENTS; i++) {
+            Player player = mock(Player.class, withSettings().stubOnly());
+            when(player.getUniqueId()).thenReturn(UUID.randomUUID());
+            playerDamage[i] = damageEvent(player);
+            mobDamage[i] = damageEvent(mock(Zombie.class, withSettings().stubOnly()));
+        }
+
+        Bench.run("immortality, " + scenario + ", player damaged", EVENTS, i -> {
+            listener.onEntityDamage(playerDamage[i]);
+            return playerDamage[i].isCancelled() ? 1 : 0;
+        });
+        Bench.run("immortality, " + scenario + ", mob damaged", EVENTS, i -> {
+            listener.onEntityDamage(mobDamage[i]);
+            return mobDamage[i].isCancelled() ? 1 : 0;
+        });
+        Bench.run("immortality, " + scenario + ", player damaged, lookup first", EVENTS, i ->
+                playerDamage[i].getEntity() instanceof Player player
+                        && immortality.hasImmortality(player.getUniqueId()) ? 1 : 0);
+    }
+
+    private static EntityDamageEvent damageEvent(Entity entity) {
+        EntityDamageEvent event = mock(EntityDamageEvent.class, withSettings().stubOnly());
+        when(event.getEntity()).thenReturn(entity);
+        return event;
+    }
+
+    /**
+     * Creates a plugin with a real ImmortalityManager.
+     *
+     * @param activePlayer Player with an active effect in the data file, or null
+     */
+    private static KingdomsAddon plugin(File folder, UUID activePlayer) throws IOException {
+        folder.mkdirs();
+        if (activePlayer != null) {
+            YamlConfiguration data = new YamlConfiguration();
+            data.set("immortality." + activePlayer, System.currentTimeMillis() + 3_600_000L);
+            data.save(new File(folder, "immortality.yml"));
+        }
+
+        KingdomsAddon plugin = mock(KingdomsAddon.class, withSettings().stubOnly());
+        when(plugin.getDataFolder()).thenReturn(folder);
+        when(plugin.getConfig()).thenReturn(new YamlConfiguration());
+        when(plugin.getLogger()).thenReturn(Logger.getLogger("ImmortalityListenerBenchmark"));
+        when(plugin.getDataFileLoader()).thenReturn(new DataFileLoader(plugin));
+
+        // The manager starts repeating tasks and builds its default cost on construction
+        try (MockedStatic<FoliaUtil> folia = mockStatic(FoliaUtil.class);
+             MockedConstruction<ItemStack> items = mockConstruction(ItemStack.class)) {
+            ImmortalityManager immortality = new ImmortalityManager(plugin);
+            when(plugin.getImmortalityManager()).thenReturn(immortality);
+        }
+        return plugin;
+    }
+}
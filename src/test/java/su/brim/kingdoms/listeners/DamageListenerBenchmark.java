@@ -0,0 +1,165 @@
+package su.brim.kingdoms.listeners;
+
+import su.brim.kingdoms.KingdomsAddon;
+import su.brim.kingdoms.bench.Bench;
+import su.brim.kingdoms.config.ConfigManager;
+import su.brim.kingdoms.log.EventLog;
+import su.brim.kingdoms.manager.AdminCache;
+import su.brim.kingdoms.manager.KingdomManager;
+import su.brim.kingdoms.metrics.KingdomsMetrics;
+import su.brim.kingdoms.util.DataFileLoader;
+import su.brim.kingdoms.util.DebugCategory;
+import su.brim.kingdoms.util.FoliaUtil;
+import org.bukkit.configuration.file.YamlConfiguration;
+import org.bukkit.entity.Player;
+import org.bukkit.event.entity.EntityDamageByEntityEvent;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.MockedStatic;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.UUID;
+import java.util.logging.Logger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Cost of the damage handler on ally and enemy hits between assigned players,
+ * the common case. Besides the time per event it checks that the handler allocates
+ * nothing of its own: the players and the event are Mockito stubs, which allocate
+ * on every call, so the handler is compared with a row making the same stub calls.
+ * Uses a real KingdomManager, AdminCache, ConfigManager, metrics and event log;
+ * damage sampling in the event log is off (sampled hits build a log entry by design).
+ */
+@Tag(Bench.TAG)
+class DamageListenerBenchmark {
+
+    private static final int PLAYERS = 99;
+    private static final int KINGDOMS = KingdomManager.ALL_KINGDOMS.size();
+
+    // Less than the smallest heap object: no allocation per event
+    private static final double MAX_OWN_BYTES_PER_EVENT = 16.0;
+
+    @TempDir
+    Path dataFolder;
+
+    private KingdomsAddon plugin;
+    private DamageListener listener;
+    private final Player[] players = new Player[PLAYERS];
+
+    @BeforeEach
+    void setUp() throws IOException {
+        plugin = mock(KingdomsAddon.class, withSettings().stubOnly());
+        when(plugin.getDataFolder()).thenReturn(dataFolder.toFile());
+        when(plugin.getLogger()).thenReturn(Logger.getLogger("DamageListenerBenchmark"));
+        when(plugin.getDataFileLoader()).thenReturn(new DataFileLoader(plugin));
+
+        YamlConfiguration config = new YamlConfiguration();
+        config.set("event-log.sampling.damage", 0.0);
+        when(plugin.getConfig()).thenReturn(config);
+
+        // Existing whitelist files, so no default resources are copied
+        File teams = new File(dataFolder.toFile(), "teams");
+        teams.mkdirs();
+        for (String kingdomId : KingdomManager.ALL_KINGDOMS) {
+            new YamlConfiguration().save(new File(teams, kingdomId + ".yml"));
+        }
+
+        // Player i belongs to kingdom i % KINGDOMS
+        YamlConfiguration assignments = new YamlConfiguration();
+        for (int i = 0; i < PLAYERS; i++) {
+            players[i] = mock(Player.class, withSettings().stubOnly());
+            UUID uuid = UUID.randomUUID();
+            when(players[i].getUniqueId()).thenReturn(uuid);
+            when(players[i].getName()).thenReturn("Player" + i);
+            assignments.set(uuid.toString(), KingdomManager.ALL_KINGDOMS.get(i % KINGDOMS));
+        }
+        assignments.save(new File(dataFolder.toFile(), "player-kingdoms.yml"));
+
+        KingdomManager kingdomManager = new KingdomManager(plugin);
+        when(plugin.getKingdomManager()).thenReturn(kingdomManager);
+
+        ConfigManager configManager = new ConfigManager(plugin);
+        when(plugin.getConfigManager()).thenReturn(configManager);
+        when(plugin.getMetrics()).thenReturn(new KingdomsMetrics(plugin));
+
+        // The event log starts its console flush task on construction
+        try (MockedStatic<FoliaUtil> folia = mockStatic(FoliaUtil.class)) {
+            when(plugin.getEventLog()).thenReturn(new EventLog(plugin));
+        }
+
+        // Online players have their admin flag cached on join
+        AdminCache adminCache = new AdminCache(plugin);
+        for (Player player : players) {
+            adminCache.refresh(player);
+        }
+        when(plugin.getAdminCache()).thenReturn(adminCache);
+
+        listener = new DamageListener(plugin);
+    }
+
+    @Test
+    void allyHits() {
+        // Same kingdom: victim is KINGDOMS players further
+        run("ally", hits(KINGDOMS));
+    }
+
+    @Test
+    void enemyHits() {
+        run("enemy", hits(1));
+    }
+
+    private EntityDamageByEntityEvent[] hits(int victimOffset) {
+        EntityDamageByEntityEvent[] events = new EntityDamageByEntityEvent[PLAYERS];
+        for (int i = 0; i < PLAYERS; i++) {
+            EntityDamageByEntityEvent event = mock(EntityDamageByEntityEvent.class, withSettings().stubOnly());
+            when(event.getEntity()).thenReturn(players[(i + victimOffset) % PLAYERS]);
+            when(event.getDamager()).thenReturn(players[i]);
+            when(event.getDamage()).thenReturn(4.0);
+            events[i] = event;
+        }
+        return events;
+    }
+
+    private void run(String relation, EntityDamageByEntityEvent[] events) {
+        Bench.Op handler = i -> {
+            listener.onEntityDamageByEntity(events[i]);
+            return events[i].isCancelled() ? 1 : 0;
+        };
+        Bench.Op stubCalls = i -> stubCalls(events[i]);
+
+        Bench.run("damage, " + relation + " hit", PLAYERS, handler);
+        double handlerBytes = Bench.allocation("damage, " + relation + " hit", PLAYERS, handler);
+        double stubBytes = Bench.allocation("damage, " + relation + " hit, stub calls only", PLAYERS, stubCalls);
+
+        assertTrue(handlerBytes - stubBytes < MAX_OWN_BYTES_PER_EVENT,
+                "Damage handler allocates " + (handlerBytes - stubBytes) + " B per " + relation + " hit");
+    }
+
+    /**
+     * Makes the stub calls the handler makes on an ally or enemy hit, without its logic.
+     */
+    private long stubCalls(EntityDamageByEntityEvent event) {
+        Player victim = (Player) event.getEntity();
+        Player attacker = (Player) event.getDamager();
+        long acc = attacker.equals(victim) ? 1 : 0;
+
+        plugin.getAdminCache();
+        acc += attacker.getUniqueId().hashCode() + victim.getUniqueId().hashCode();
+        plugin.getKingdomManager();
+        acc += attacker.getUniqueId().hashCode() + victim.getUniqueId().hashCode();
+
+        plugin.getConfigManager();
+        plugin.getMetrics();
+        acc += plugin.isDebugEnabled(DebugCategory.DAMAGE) ? 1 : 0;
+
+        event.setDamage(event.getDamage() * 0.5);
+        plugin.getEventLog();
+        return acc + (event.isCancelled() ? 1 : 0);
+    }
+}
@@ -0,0 +1,135 @@
+package su.brim.kingdoms.manager;
+
+import su.brim.kingdoms.KingdomsAddon;
+import su.brim.kingdoms.bench.Bench;
+import su.brim.kingdoms.config.ConfigManager;
+import su.brim.kingdoms.join.JoinPreload;
+import su.brim.kingdoms.util.DataFileLoader;
+import su.brim.kingdoms.util.DebugCategory;
+import org.bukkit.configuration.file.YamlConfiguration;
+import org.bukkit.entity.Player;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.UUID;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+import java.util.logging.Handler;
+import java.util.logging.LogRecord;
+import java.util.logging.Logger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Cost of KingdomManager.processPlayerJoin for a returning player with pre-login state,
+ * with debug off, with debug on for other subsystems only, and with join debug on.
+ * The plugin's real debug methods run against a real ConfigManager; debug output goes
+ * to a logger that only counts records. With the join subsystem disabled no message
+ * supplier is evaluated, so those rows must log nothing and allocate the same.
+ */
+@Tag(Bench.TAG)
+class KingdomManagerJoinBenchmark {
+
+    private static final int PLAYERS = 100;
+
+    // Less than the smallest heap object: no allocation per join
+    private static final double MAX_BYTES_DIFFERENCE = 16.0;
+
+    @TempDir
+    Path dataFolder;
+
+    private KingdomsAddon plugin;
+    private ConfigManager configManager;
+    private KingdomManager kingdomManager;
+    private final LongAdder logRecords = new LongAdder();
+
+    private final Player[] players = new Player[PLAYERS];
+    private final JoinPreload[] preloads = new JoinPreload[PLAYERS];
+
+    @BeforeEach
+    void setUp() throws IOException {
+        Logger logger = Logger.getLogger("KingdomManagerJoinBenchmark");
+        logger.setUseParentHandlers(false);
+        logger.addHandler(new Handler() {
+            @Override
+            public void publish(LogRecord record) {
+                logRecords.increment();
+            }
+
+            @Override
+            public void flush() {
+            }
+
+            @Override
+            public void close() {
+            }
+        });
+
+        plugin = mock(KingdomsAddon.class, withSettings().stubOnly());
+        when(plugin.getDataFolder()).thenReturn(dataFolder.toFile());
+        when(plugin.getLogger()).thenReturn(logger);
+        when(plugin.getDataFileLoader()).thenReturn(new DataFileLoader(plugin));
+
+        // Existing whitelist files, so no default resources are copied
+        File teams = new File(dataFolder.toFile(), "teams");
+        teams.mkdirs();
+        for (String kingdomId : KingdomManager.ALL_KINGDOMS) {
+            new YamlConfiguration().save(new File(teams, kingdomId + ".yml"));
+        }
+        kingdomManager = new KingdomManager(plugin);
+
+        for (int i = 0; i < PLAYERS; i++) {
+            players[i] = mock(Player.class, withSettings().stubOnly());
+            when(players[i].getUniqueId()).thenReturn(UUID.randomUUID());
+            when(players[i].getName()).thenReturn("Player" + i);
+            String kingdomId = KingdomManager.ALL_KINGDOMS.get(i % KingdomManager.ALL_KINGDOMS.size());
+            preloads[i] = new JoinPreload(kingdomId, null, true, null, 0, System.currentTimeMillis());
+        }
+
+        // The plugin's own debug gate, reading the current ConfigManager
+        when(plugin.isDebugEnabled(any())).thenAnswer(invocation ->
+                configManager != null && configManager.isDebug(invocation.getArgument(0)));
+        doCallRealMethod().when(plugin).debug(any(DebugCategory.class), anyString());
+        doCallRealMethod().when(plugin).debug(any(DebugCategory.class), any(Supplier.class));
+    }
+
+    @Test
+    void joinWithAndWithoutDebug() {
+        double offBytes = run("debug off", false, false);
+        long offRecords = logRecords.sumThenReset();
+        double otherBytes = run("debug on, join subsystem off", true, false);
+        long otherRecords = logRecords.sumThenReset();
+        run("debug on", true, true);
+        long onRecords = logRecords.sumThenReset();
+
+        assertEquals(0, offRecords);
+        assertEquals(0, otherRecords);
+        assertTrue(onRecords > 0);
+        assertEquals(offBytes, otherBytes, MAX_BYTES_DIFFERENCE);
+    }
+
+    /**
+     * Times joins of all players with the given debug settings.
+     *
+     * @return median allocated bytes per join
+     */
+    private double run(String scenario, boolean debug, boolean joinDebug) {
+        YamlConfiguration config = new YamlConfiguration();
+        config.set("debug", debug);
+        config.set("debug-subsystems.join", joinDebug);
+        when(plugin.getConfig()).thenReturn(config);
+        configManager = new ConfigManager(plugin);
+        when(plugin.getConfigManager()).thenReturn(configManager);
+        logRecords.reset();
+
+        Bench.Op join = i -> kingdomManager.processPlayerJoin(players[i], preloads[i]) ? 1 : 0;
+        Bench.run("player join, " + scenario, PLAYERS, join);
+        return Bench.allocation("player join, " + scenario, PLAYERS, join);
+    }
+}
@@ -0,0 +1,65 @@
+package su.brim.kingdoms.metrics;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs the endpoint on an ephemeral loopback port.
+ */
+class MetricsHttpServerTest {
+
+    private final MetricsRegistry registry = new MetricsRegistry();
+    private final HttpClient client = HttpClient.newHttpClient();
+    private MetricsHttpServer server;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        registry.counter("test_requests_total", "Requests", null).inc();
+        server = new MetricsHttpServer(registry, 0);
+        server.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        server.stop();
+    }
+
+    private URI uri(String path) {
+        return URI.create("http://127.0.0.1:" + server.getPort() + path);
+    }
+
+    @Test
+    void servesTextExposition() throws Exception {
+        HttpResponse<String> response = client.send(HttpRequest.newBuilder(uri("/metrics")).GET().build(),
+                HttpResponse.BodyHandlers.ofString());
+
+        assertEquals(200, response.statusCode());
+        assertEquals("text/plain; version=0.0.4; charset=utf-8",
+                response.headers().firstValue("Content-Type").orElse(null));
+        assertEquals(registry.scrape(), response.body());
+    }
+
+    @Test
+    void rejectsOtherMethods() throws Exception {
+        HttpResponse<String> response = client.send(HttpRequest.newBuilder(uri("/metrics"))
+                        .POST(HttpRequest.BodyPublishers.noBody()).build(),
+                HttpResponse.BodyHandlers.ofString());
+
+        assertEquals(405, response.statusCode());
+    }
+
+    @Test
+    void bindsToLoopbackOnly() {
+        assertEquals(InetAddress.getLoopbackAddress(), server.getBindAddress());
+    }
+}
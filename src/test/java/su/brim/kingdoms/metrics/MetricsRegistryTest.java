@@ -0,0 +1,104 @@
+package su.brim.kingdoms.metrics;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MetricsRegistryTest {
+
+    private final MetricsRegistry registry = new MetricsRegistry();
+
+    @Test
+    void unlabeledCounterIsReportedBeforeFirstIncrement() {
+        registry.counter("test_events_total", "Events", null);
+
+        String text = registry.scrape();
+
+        assertTrue(text.contains("# HELP test_events_total Events\n"));
+        assertTrue(text.contains("# TYPE test_events_total counter\n"));
+        assertTrue(text.contains("test_events_total 0\n"));
+    }
+
+    @Test
+    void labeledCounterCountsPerLabelValue() {
+        MetricsRegistry.Counter counter = registry.counter("test_damage_total", "Damage", "relation");
+        counter.inc("ally");
+        counter.inc("enemy");
+        counter.inc("enemy");
+
+        String text = registry.scrape();
+
+        assertEquals(2, counter.get("enemy"));
+        assertEquals(0, counter.get("teamless"));
+        assertTrue(text.contains("test_damage_total{relation=\"ally\"} 1\n"));
+        assertTrue(text.contains("test_damage_total{relation=\"enemy\"} 2\n"));
+    }
+
+    @Test
+    void labelValuesAreEscaped() {
+        registry.counter("test_files_total", "Files", "file").inc("a\"b\\c\nd");
+
+        assertTrue(registry.scrape().contains("test_files_total{file=\"a\\\"b\\\\c\\nd\"} 1\n"));
+    }
+
+    @Test
+    void gaugesAreReadWhenScraped() {
+        int[] value = {3};
+        registry.gauge("test_active", "Active", () -> value[0]);
+        Map<String, Integer> perKingdom = new LinkedHashMap<>();
+        perKingdom.put("snow_kingdom", 2);
+        registry.labeledGauge("test_ghosts", "Ghosts", "kingdom", () -> perKingdom);
+
+        assertTrue(registry.scrape().contains("test_active 3\n"));
+        value[0] = 5;
+        perKingdom.put("snow_kingdom", 4);
+
+        String text = registry.scrape();
+        assertTrue(text.contains("# TYPE test_active gauge\n"));
+        assertTrue(text.contains("test_active 5\n"));
+        assertTrue(text.contains("test_ghosts{kingdom=\"snow_kingdom\"} 4\n"));
+    }
+
+    @Test
+    void counterFunctionHasCounterType() {
+        registry.counterFunction("test_tasks_total", "Tasks", "scheduler", () -> Map.of("async", 7L));
+
+        String text = registry.scrape();
+
+        assertTrue(text.contains("# TYPE test_tasks_total counter\n"));
+        assertTrue(text.contains("test_tasks_total{scheduler=\"async\"} 7\n"));
+    }
+
+    @Test
+    void histogramBucketsAreCumulative() {
+        MetricsRegistry.Histogram histogram = registry.histogram("test_save_seconds", "Saves", "file", 0.01, 0.1, 1.0);
+        // Binary fractions, so the sum is exact in any order
+        histogram.observe("ghosts", 0.0078125);
+        histogram.observe("ghosts", 0.0625);
+        histogram.observe("ghosts", 0.0625);
+        histogram.observe("ghosts", 4.0);
+
+        String text = registry.scrape();
+
+        assertTrue(text.contains("# TYPE test_save_seconds histogram\n"));
+        assertTrue(text.contains("test_save_seconds_bucket{file=\"ghosts\",le=\"0.01\"} 1\n"));
+        assertTrue(text.contains("test_save_seconds_bucket{file=\"ghosts\",le=\"0.1\"} 3\n"));
+        assertTrue(text.contains("test_save_seconds_bucket{file=\"ghosts\",le=\"1.0\"} 3\n"));
+        assertTrue(text.contains("test_save_seconds_bucket{file=\"ghosts\",le=\"+Inf\"} 4\n"));
+        assertTrue(text.contains("test_save_seconds_sum{file=\"ghosts\"} 4.1328125\n"));
+        assertTrue(text.contains("test_save_seconds_count{file=\"ghosts\"} 4\n"));
+    }
+
+    @Test
+    void unlabeledHistogramHasOnlyTheBucketLabel() {
+        registry.histogram("test_join_seconds", "Joins", null, 0.5).observe("", 0.1);
+
+        String text = registry.scrape();
+
+        assertTrue(text.contains("test_join_seconds_bucket{le=\"0.5\"} 1\n"));
+        assertTrue(text.contains("test_join_seconds_count 1\n"));
+    }
+}
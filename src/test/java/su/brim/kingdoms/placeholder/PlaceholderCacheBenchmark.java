@@ -0,0 +1,81 @@
+package su.brim.kingdoms.placeholder;
+
+import su.brim.kingdoms.KingdomsAddon;
+import su.brim.kingdoms.bench.Bench;
+import su.brim.kingdoms.config.ColorTable;
+import su.brim.kingdoms.config.ConfigManager;
+import su.brim.kingdoms.ghost.GhostManager;
+import su.brim.kingdoms.manager.KingdomManager;
+import su.brim.kingdoms.util.DataFileLoader;
+import org.bukkit.configuration.file.YamlConfiguration;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.UUID;
+import java.util.logging.Logger;
+
+import static org.mockito.Mockito.*;
+
+/**
+ * Placeholder resolution for 200 online players, as TAB requests it every refresh:
+ * computing the values per request (before the cache, and still for offline players)
+ * versus serving them from the cache. Uses a real KingdomManager on a temp data folder.
+ */
+@Tag(Bench.TAG)
+class PlaceholderCacheBenchmark {
+
+    private static final int PLAYERS = 200;
+
+    @TempDir
+    Path dataFolder;
+
+    private final UUID[] players = new UUID[PLAYERS];
+    private PlaceholderCache cache;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        KingdomsAddon plugin = mock(KingdomsAddon.class, withSettings().stubOnly());
+        when(plugin.getDataFolder()).thenReturn(dataFolder.toFile());
+        when(plugin.getLogger()).thenReturn(Logger.getLogger("PlaceholderCacheBenchmark"));
+        when(plugin.getDataFileLoader()).thenReturn(new DataFileLoader(plugin));
+
+        // Existing whitelist files, so no default resources are copied
+        File teams = new File(dataFolder.toFile(), "teams");
+        teams.mkdirs();
+        for (String kingdomId : KingdomManager.ALL_KINGDOMS) {
+            new YamlConfiguration().save(new File(teams, kingdomId + ".yml"));
+        }
+
+        YamlConfiguration assignments = new YamlConfiguration();
+        for (int i = 0; i < PLAYERS; i++) {
+            players[i] = UUID.randomUUID();
+            assignments.set(players[i].toString(), KingdomManager.ALL_KINGDOMS.get(i % KingdomManager.ALL_KINGDOMS.size()));
+        }
+        assignments.save(new File(dataFolder.toFile(), "player-kingdoms.yml"));
+
+        KingdomManager kingdomManager = new KingdomManager(plugin);
+        when(plugin.getKingdomManager()).thenReturn(kingdomManager);
+
+        GhostManager ghostManager = mock(GhostManager.class, withSettings().stubOnly());
+        when(plugin.getGhostManager()).thenReturn(ghostManager);
+
+        ConfigManager configManager = mock(ConfigManager.class, withSettings().stubOnly());
+        when(configManager.getColorTable()).thenReturn(ColorTable.load(new YamlConfiguration()));
+        when(plugin.getConfigManager()).thenReturn(configManager);
+
+        cache = new PlaceholderCache(plugin);
+    }
+
+    @Test
+    void resolveColor() {
+        Bench.run("placeholder %kingdoms_color%, computed per request", PLAYERS,
+                i -> cache.getUncached(players[i]).color.length());
+        Bench.run("placeholder %kingdoms_color%, cached", PLAYERS,
+                i -> cache.get(players[i]).color.length());
+    }
+}
@@ -0,0 +1,73 @@
+package su.brim.kingdoms.util;
+
+import su.brim.kingdoms.bench.Bench;
+import org.bukkit.Bukkit;
+import org.bukkit.Location;
+import org.bukkit.World;
+import org.bukkit.persistence.PersistentDataAdapterContext;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.mockito.MockedStatic;
+
+import java.util.Random;
+import java.util.UUID;
+
+import static org.mockito.Mockito.*;
+
+/**
+ * Reading and writing 1,000 death locations in the binary PDC format versus the legacy
+ * "world;x;y;z;yaw;pitch" string, as RespawnHook did before. Both formats look up the
+ * world through a stubbed Bukkit.getWorld, by UUID and by name respectively.
+ */
+@Tag(Bench.TAG)
+class LocationDataTypeBenchmark {
+
+    private static final int LOCATIONS = 1_000;
+
+    private final PersistentDataAdapterContext context = mock(PersistentDataAdapterContext.class, withSettings().stubOnly());
+
+    @Test
+    void readAndWrite() {
+        UUID worldId = UUID.randomUUID();
+        World world = mock(World.class, withSettings().stubOnly());
+        when(world.getUID()).thenReturn(worldId);
+        when(world.getName()).thenReturn("world");
+
+        try (MockedStatic<Bukkit> bukkit = mockStatic(Bukkit.class)) {
+            bukkit.when(() -> Bukkit.getWorld(worldId)).thenReturn(world);
+            bukkit.when(() -> Bukkit.getWorld("world")).thenReturn(world);
+
+            Random random = new Random(42);
+            Location[] locations = new Location[LOCATIONS];
+            byte[][] binary = new byte[LOCATIONS][];
+            String[] legacy = new String[LOCATIONS];
+            for (int i = 0; i < LOCATIONS; i++) {
+                locations[i] = new Location(world, random.nextDouble() * 20_000 - 10_000, random.nextInt(384) - 64,
+                        random.nextDouble() * 20_000 - 10_000, random.nextFloat() * 360 - 180, random.nextFloat() * 180 - 90);
+                binary[i] = LocationDataType.INSTANCE.toPrimitive(locations[i], context);
+                legacy[i] = legacyString(locations[i]);
+            }
+
+            Bench.run("location write, binary", LOCATIONS,
+                    i -> LocationDataType.INSTANCE.toPrimitive(locations[i], context).length);
+            Bench.run("location write, legacy string", LOCATIONS,
+                    i -> legacyString(locations[i]).length());
+            Bench.run("location read, binary", LOCATIONS,
+                    i -> (long) LocationDataType.INSTANCE.fromPrimitive(binary[i], context).getX());
+            Bench.run("location read, legacy string", LOCATIONS,
+                    i -> (long) LocationDataType.fromLegacyString(legacy[i]).getX());
+        }
+    }
+
+    /**
+     * The string format RespawnHook wrote before the binary format.
+     */
+    private static String legacyString(Location loc) {
+        return loc.getWorld().getName() + ";" +
+               loc.getX() + ";" +
+               loc.getY() + ";" +
+               loc.getZ() + ";" +
+               loc.getYaw() + ";" +
+               loc.getPitch();
+    }
+}
@@ -0,0 +1,149 @@
+package su.brim.kingdoms.util;
+
+import org.bukkit.Bukkit;
+import org.bukkit.Location;
+import org.bukkit.World;
+import org.bukkit.persistence.PersistentDataAdapterContext;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.MockedStatic;
+
+import java.util.Arrays;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class LocationDataTypeTest {
+
+    private static final UUID WORLD_ID = UUID.fromString("6f1c1a52-8d43-4d0e-9a0b-3f6f2b7c9e11");
+
+    private final PersistentDataAdapterContext context = mock(PersistentDataAdapterContext.class);
+    private final World world = mock(World.class);
+    private MockedStatic<Bukkit> bukkit;
+
+    @BeforeEach
+    void setUp() {
+        when(world.getUID()).thenReturn(WORLD_ID);
+        when(world.getName()).thenReturn("world");
+
+        bukkit = mockStatic(Bukkit.class);
+        bukkit.when(() -> Bukkit.getWorld(WORLD_ID)).thenReturn(world);
+        bukkit.when(() -> Bukkit.getWorld("world")).thenReturn(world);
+    }
+
+    @AfterEach
+    void tearDown() {
+        bukkit.close();
+    }
+
+    // === Binary format ===
+
+    @Test
+    void roundTripKeepsAllFields() {
+        Location location = new Location(world, 128.5, -42.25, -7_000_000.125, 91.5f, -33.75f);
+
+        byte[] bytes = LocationDataType.INSTANCE.toPrimitive(location, context);
+        Location restored = LocationDataType.INSTANCE.fromPrimitive(bytes, context);
+
+        assertNotNull(restored);
+        assertSame(world, restored.getWorld());
+        assertEquals(128.5, restored.getX());
+        assertEquals(-42.25, restored.getY());
+        assertEquals(-7_000_000.125, restored.getZ());
+        assertEquals(91.5f, restored.getYaw());
+        assertEquals(-33.75f, restored.getPitch());
+    }
+
+    @Test
+    void layoutIsVersionedAndFixedSize() {
+        byte[] bytes = LocationDataType.INSTANCE.toPrimitive(new Location(world, 0, 64, 0), context);
+
+        assertEquals(49, bytes.length);
+        assertEquals(1, bytes[0]);
+    }
+
+    @Test
+    void locationWithoutWorldIsRejected() {
+        Location location = new Location(null, 1, 2, 3);
+
+        assertThrows(IllegalArgumentException.class,
+                () -> LocationDataType.INSTANCE.toPrimitive(location, context));
+    }
+
+    @Test
+    void unloadedWorldIsRejected() {
+        byte[] bytes = LocationDataType.INSTANCE.toPrimitive(new Location(world, 1, 2, 3), context);
+        bukkit.when(() -> Bukkit.getWorld(WORLD_ID)).thenReturn(null);
+
+        assertThrows(IllegalArgumentException.class, () -> LocationDataType.INSTANCE.fromPrimitive(bytes, context));
+    }
+
+    @Test
+    void truncatedValueIsRejected() {
+        byte[] bytes = LocationDataType.INSTANCE.toPrimitive(new Location(world, 1, 2, 3), context);
+        byte[] truncated = Arrays.copyOf(bytes, bytes.length - 1);
+
+        assertThrows(IllegalArgumentException.class, () -> LocationDataType.INSTANCE.fromPrimitive(truncated, context));
+        assertThrows(IllegalArgumentException.class, () -> LocationDataType.INSTANCE.fromPrimitive(new byte[0], context));
+    }
+
+    @Test
+    void oversizedValueIsRejected() {
+        byte[] bytes = LocationDataType.INSTANCE.toPrimitive(new Location(world, 1, 2, 3), context);
+        byte[] oversized = Arrays.copyOf(bytes, bytes.length + 8);
+
+        assertThrows(IllegalArgumentException.class, () -> LocationDataType.INSTANCE.fromPrimitive(oversized, context));
+    }
+
+    @Test
+    void unknownVersionIsRejected() {
+        byte[] bytes = LocationDataType.INSTANCE.toPrimitive(new Location(world, 1, 2, 3), context);
+        bytes[0] = 2;
+
+        assertThrows(IllegalArgumentException.class, () -> LocationDataType.INSTANCE.fromPrimitive(bytes, context));
+    }
+
+    // === Legacy string format ===
+
+    @Test
+    void legacyStringIsParsed() {
+        Location location = LocationDataType.fromLegacyString("world;10.5;70.0;-20.5;180.0;15.0");
+
+        assertNotNull(location);
+        assertSame(world, location.getWorld());
+        assertEquals(10.5, location.getX());
+        assertEquals(70.0, location.getY());
+        assertEquals(-20.5, location.getZ());
+        assertEquals(180.0f, location.getYaw());
+        assertEquals(15.0f, location.getPitch());
+    }
+
+    @Test
+    void legacyStringWithoutRotationDefaultsToZero() {
+        Location location = LocationDataType.fromLegacyString("world;1;2;3");
+
+        assertNotNull(location);
+        assertEquals(0f, location.getYaw());
+        assertEquals(0f, location.getPitch());
+    }
+
+    @Test
+    void invalidLegacyStringsReadAsNull() {
+        assertNull(LocationDataType.fromLegacyString(null));
+        assertNull(LocationDataType.fromLegacyString(""));
+        assertNull(LocationDataType.fromLegacyString("world;1;2"));
+        assertNull(LocationDataType.fromLegacyString("world;x;2;3"));
+        assertNull(LocationDataType.fromLegacyString("missing_world;1;2;3"));
+    }
+
+    @Test
+    void legacyLocationSurvivesMigrationToBinary() {
+        Location legacy = LocationDataType.fromLegacyString("world;-100.25;12.0;300.75;45.0;-10.0");
+
+        byte[] bytes = LocationDataType.INSTANCE.toPrimitive(legacy, context);
+
+        assertEquals(legacy, LocationDataType.INSTANCE.fromPrimitive(bytes, context));
+    }
+}